@@ -0,0 +1,35 @@
+package Benchmarks;
+
+import algorithms.mazeGenerators.Maze;
+import algorithms.mazeGenerators.MyMazeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MyMazeGenerator#generate(int, int)}, the work behind "Generate Maze".
+ * The size parameter is the value typed into the rows/columns fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+
+    @Param({"50", "250", "1000"})
+    public int size;
+
+    private MyMazeGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new MyMazeGenerator();
+    }
+
+    @Benchmark
+    public Maze generate() {
+        return generator.generate(size, size);
+    }
+}
@@ -0,0 +1,49 @@
+package Benchmarks;
+
+import algorithms.mazeGenerators.Maze;
+import algorithms.mazeGenerators.MyMazeGenerator;
+import algorithms.search.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for {@link SolverBenchmark}: PartB's string-keyed search algorithms on a {@link SearchableMaze},
+ * which is how the game solved mazes before the grid search engine.
+ * Sizes stop at 100 because PartB's best-first search takes minutes on larger mazes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PartBSolverBenchmark {
+
+    @Param({"25", "50", "100"})
+    public int size;
+
+    @Param({"BreadthFirstSearch", "DepthFirstSearch", "BestFirstSearch"})
+    public String algorithm;
+
+    private Maze maze;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = new MyMazeGenerator().generate(size, size);
+    }
+
+    @Benchmark
+    public Solution solve() {
+        return createAlgorithm().solve(new SearchableMaze(maze));
+    }
+
+    private ISearchingAlgorithm createAlgorithm() {
+        return switch (algorithm) {
+            case "BreadthFirstSearch" -> new BreadthFirstSearch();
+            case "DepthFirstSearch" -> new DepthFirstSearch();
+            case "BestFirstSearch" -> new BestFirstSearch();
+            default -> throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        };
+    }
+}
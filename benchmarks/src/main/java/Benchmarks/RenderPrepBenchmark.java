@@ -0,0 +1,87 @@
+package Benchmarks;
+
+import Model.BitMazeGrid;
+import Model.MazeGrid;
+import View.MazeBitmap;
+import View.MazeCamera;
+import algorithms.mazeGenerators.MyMazeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-frame work of the maze view that does not need a window:
+ * the camera math and culling, and filling the zoomed-out bitmap.
+ * Uploading pixels to a JavaFX image and drawing the canvases are not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderPrepBenchmark {
+
+    private static final double VIEW_WIDTH = 800;
+    private static final double VIEW_HEIGHT = 600;
+
+    @Param({"50", "250", "1000"})
+    public int size;
+
+    private MazeGrid maze;
+    private MazeCamera fullView;
+    private MazeCamera zoomedView;
+    private final MazeBitmap bitmap = new MazeBitmap();
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = BitMazeGrid.fromMaze(new MyMazeGenerator().generate(size, size));
+        fullView = new MazeCamera();
+        fullView.setMaze(maze.getRows(), maze.getCols());
+        fullView.setViewSize(VIEW_WIDTH, VIEW_HEIGHT);
+
+        zoomedView = new MazeCamera();
+        zoomedView.setMaze(maze.getRows(), maze.getCols());
+        zoomedView.setViewSize(VIEW_WIDTH, VIEW_HEIGHT);
+        zoomedView.zoomAt(zoomedView.getMaxZoom() / 2, VIEW_WIDTH / 2, VIEW_HEIGHT / 2);
+    }
+
+    /**
+     * Bitmap of the whole maze, as drawn when the maze is zoomed all the way out.
+     */
+    @Benchmark
+    public int[] bitmapFullView() {
+        bitmap.render(maze, fullView, VIEW_WIDTH, VIEW_HEIGHT);
+        return bitmap.getPixels();
+    }
+
+    /**
+     * Bitmap of a zoomed-in window of the maze.
+     */
+    @Benchmark
+    public int[] bitmapZoomedView() {
+        bitmap.render(maze, zoomedView, VIEW_WIDTH, VIEW_HEIGHT);
+        return bitmap.getPixels();
+    }
+
+    /**
+     * Camera follow plus culling of the visible window for one player move, without the drawing calls.
+     */
+    @Benchmark
+    public int followAndCull() {
+        int start = maze.getStartIndex();
+        int row = (maze.rowOf(start) + step) % maze.getRows();
+        int col = (maze.colOf(start) + step) % maze.getCols();
+        step++;
+        zoomedView.follow(row, col);
+        int walls = 0;
+        for (int i = zoomedView.getFirstVisibleRow(); i < zoomedView.getEndVisibleRow(); i++) {
+            for (int j = zoomedView.getFirstVisibleCol(); j < zoomedView.getEndVisibleCol(); j++) {
+                if (!maze.isOpen(i, j))
+                    walls++;
+            }
+        }
+        return walls;
+    }
+}
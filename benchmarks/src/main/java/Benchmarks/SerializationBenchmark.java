@@ -0,0 +1,72 @@
+package Benchmarks;
+
+import IO.MyCompressorOutputStream;
+import IO.MyDecompressorInputStream;
+import algorithms.mazeGenerators.Maze;
+import algorithms.mazeGenerators.MyMazeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures turning a maze into bytes and back: the raw {@code toByteArray}/{@code new Maze(byte[])}
+ * format used by Save/Load, and PartB's compressor streams used by the maze server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"50", "250", "1000"})
+    public int size;
+
+    private Maze maze;
+    private byte[] raw;
+    private byte[] compressed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        maze = new MyMazeGenerator().generate(size, size);
+        raw = maze.toByteArray();
+        compressed = compress(raw);
+    }
+
+    @Benchmark
+    public byte[] toByteArray() {
+        return maze.toByteArray();
+    }
+
+    @Benchmark
+    public Maze fromByteArray() {
+        return new Maze(raw);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        return compress(maze.toByteArray());
+    }
+
+    @Benchmark
+    public Maze decompress() throws IOException {
+        byte[] restored = new byte[raw.length];
+        try (MyDecompressorInputStream in = new MyDecompressorInputStream(new ByteArrayInputStream(compressed))) {
+            in.read(restored);
+        }
+        return new Maze(restored);
+    }
+
+    private static byte[] compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 8 + 64);
+        try (MyCompressorOutputStream compressor = new MyCompressorOutputStream(out)) {
+            compressor.write(bytes);
+            compressor.flush();
+        }
+        return out.toByteArray();
+    }
+}
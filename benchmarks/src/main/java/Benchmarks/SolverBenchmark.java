@@ -0,0 +1,42 @@
+package Benchmarks;
+
+import Model.BitMazeGrid;
+import Model.MazeGrid;
+import Model.SolverType;
+import algorithms.mazeGenerators.MyMazeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every {@link SolverType} the way {@code MyModel.solveMaze()} runs it on a cache miss:
+ * a fresh algorithm instance searching the maze snapshot from the start cell to the goal.
+ * The solution cache and observer notification are left out, so repeated invocations keep searching.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+    @Param({"50", "250", "1000"})
+    public int size;
+
+    @Param({"BREADTH_FIRST", "DEPTH_FIRST", "BEST_FIRST", "A_STAR_MANHATTAN", "A_STAR_OCTILE", "BIDIRECTIONAL_BFS",
+            "RACE_FIRST_PATH", "RACE_SHORTEST_PATH"})
+    public SolverType solver;
+
+    private MazeGrid grid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grid = BitMazeGrid.fromMaze(new MyMazeGenerator().generate(size, size));
+    }
+
+    @Benchmark
+    public int[] solve() {
+        return solver.create().solve(grid, grid.getStartIndex(), grid.getGoalIndex());
+    }
+}
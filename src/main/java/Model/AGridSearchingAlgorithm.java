@@ -0,0 +1,85 @@
+package Model;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Shared parts of the grid search algorithms: the move set, a bitset of visited cells,
+ * rebuilding the path from the parent array, and checking for cancellation.
+ */
+public abstract class AGridSearchingAlgorithm implements IGridSearchingAlgorithm {
+
+    // Same neighbour order as SearchableMaze, so ties break as in the PartB solvers:
+    // up, down, left, right, then the diagonals
+    protected static final int[] ROW_STEPS = {-1, 1, 0, 0, -1, -1, 1, 1};
+    protected static final int[] COL_STEPS = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    protected static final int[] NO_PATH = new int[0];
+
+    // A cancelled search notices within this many expanded nodes
+    private static final int CANCEL_CHECK_INTERVAL_MASK = 1023;
+
+    protected int nodesEvaluated;
+    private volatile boolean cancelled;
+
+    @Override
+    public int getNumberOfNodesEvaluated() {
+        return nodesEvaluated;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if {@link #cancel()} has been called
+     */
+    protected final boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Counts a cell taken off the frontier, and every so often checks whether the search was cancelled.
+     * @throws CancellationException if {@link #cancel()} has been called
+     */
+    protected final void countNode() {
+        if ((++nodesEvaluated & CANCEL_CHECK_INTERVAL_MASK) == 0 && cancelled)
+            throw new CancellationException(getName() + " cancelled");
+    }
+
+    /**
+     * @return a cleared bitset with one bit per cell of the grid
+     */
+    protected static long[] newBitset(MazeGrid grid) {
+        return new long[(grid.size() + 63) >>> 6];
+    }
+
+    protected static boolean isMarked(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    protected static void mark(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Follows parent links back from the goal.
+     * @param parents parent index of every reached cell
+     * @param start index of the start cell
+     * @param goal index of the goal cell, which must have been reached
+     * @return the cell indices from start to goal inclusive
+     */
+    protected static int[] tracePath(int[] parents, int start, int goal) {
+        int length = 1;
+        for (int cell = goal; cell != start; cell = parents[cell])
+            length++;
+        int[] path = new int[length];
+        int cell = goal;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = cell;
+            if (i > 0)
+                cell = parents[cell];
+        }
+        return path;
+    }
+}
@@ -0,0 +1,199 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * The solution path from the player's cell to the goal, kept up to date as the player moves.
+ * <p>
+ * Cells are stored as a stack with the goal at the bottom and the player's cell on top, and a map
+ * gives the stack position of each cell. Stepping forward along the path pops cells; stepping off it
+ * runs a small breadth-first search from the new cell back to the path and pushes that detour.
+ * Both take time proportional to the cells changed, not to the path length, so a path survives
+ * the player wandering off it without a full re-solve.
+ */
+public final class ActivePath {
+
+    /**
+     * How a move changed the path.
+     */
+    public enum Update {
+        /** The player moved to a cell on the path. */
+        FOLLOWED,
+        /** The player left the path and a detour back to it was spliced in. */
+        REPAIRED,
+        /** No way back to the path was found nearby; the path must be solved again. */
+        LOST
+    }
+
+    // Cells the detour search may expand before giving up
+    private static final int MAX_DETOUR_NODES = 4096;
+
+    private final MazeGrid grid;
+    private int[] cells;
+    private int top;
+    // Cell to stack position. Entries of popped cells stay behind and are checked against cells on lookup
+    private final IntIntMap positions;
+    private int repairs;
+
+    /**
+     * @param grid the maze the path runs through
+     * @param path cell indices from the player's cell to the goal, as returned by a search
+     */
+    ActivePath(MazeGrid grid, int[] path) {
+        this.grid = grid;
+        this.cells = new int[Math.max(16, path.length)];
+        this.positions = new IntIntMap(path.length);
+        this.top = -1;
+        for (int i = path.length - 1; i >= 0; i--)
+            push(path[i]);
+    }
+
+    /**
+     * @return number of cells from the player's cell to the goal, both included
+     */
+    public int size() {
+        return top + 1;
+    }
+
+    /**
+     * @param steps number of moves from the player's cell, 0 for the player's cell itself
+     * @return the cell index that many moves along the path
+     */
+    public int cellAt(int steps) {
+        return cells[top - steps];
+    }
+
+    /**
+     * @return the number of moves along the path from the player's cell to the given cell, or -1 if it is not on the path
+     */
+    public int stepsTo(int cell) {
+        int position = positionOf(cell);
+        return position < 0 ? -1 : top - position;
+    }
+
+    /**
+     * Cells the player walked along stay readable until the next detour is spliced in, so a view can
+     * erase just the part of the path walked since it last drew. Valid while {@link #getRepairCount()}
+     * is unchanged, for up to as many steps as the path has shrunk by since then.
+     * @param steps number of moves back from the player's cell, at least 1
+     * @return the cell index that many moves behind the player along the path
+     */
+    public int walkedCellAt(int steps) {
+        return cells[top + steps];
+    }
+
+    /**
+     * @return how many detours have been spliced in since the path was solved
+     */
+    public int getRepairCount() {
+        return repairs;
+    }
+
+    /**
+     * @return the cell indices from the player's cell to the goal
+     */
+    public int[] toArray() {
+        int[] path = new int[top + 1];
+        for (int i = 0; i <= top; i++)
+            path[i] = cells[top - i];
+        return path;
+    }
+
+    /**
+     * Moves the start of the path to the player's new cell.
+     * @param cell index of the cell the player is now on
+     * @return how the path was changed
+     */
+    Update moveTo(int cell) {
+        int position = positionOf(cell);
+        if (position >= 0) {
+            top = position;
+            return Update.FOLLOWED;
+        }
+        if (!spliceDetour(cell))
+            return Update.LOST;
+        repairs++;
+        return Update.REPAIRED;
+    }
+
+    /**
+     * Searches outward from a cell off the path for the path cell that gives the shortest route to the goal,
+     * counting the moves to reach the path plus the moves left along it, and splices that route in.
+     * @return false if no path cell is within reach of the search
+     */
+    private boolean spliceDetour(int from) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        IntIntMap parents = new IntIntMap(64);
+        int[] queue = new int[64];
+        int head = 0;
+        int tail = 0;
+        parents.put(from, from);
+        queue[tail++] = from;
+
+        int joinCell = -1;
+        int bestTotal = Integer.MAX_VALUE;
+        for (int depth = 0; head < tail && depth < bestTotal && head < MAX_DETOUR_NODES; depth++) {
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int cell = queue[head++];
+                int position = positionOf(cell);
+                if (position >= 0) {
+                    // Moves to reach the path plus moves left along it
+                    if (depth + position < bestTotal) {
+                        bestTotal = depth + position;
+                        joinCell = cell;
+                    }
+                    continue;
+                }
+                int row = cell / cols;
+                int col = cell % cols;
+                for (int d = 0; d < AGridSearchingAlgorithm.ROW_STEPS.length; d++) {
+                    int r = row + AGridSearchingAlgorithm.ROW_STEPS[d];
+                    int c = col + AGridSearchingAlgorithm.COL_STEPS[d];
+                    if (r < 0 || r >= rows || c < 0 || c >= cols)
+                        continue;
+                    int next = r * cols + c;
+                    if (!grid.isOpen(next) || parents.get(next) != IntIntMap.MISSING)
+                        continue;
+                    parents.put(next, cell);
+                    if (tail == queue.length)
+                        queue = Arrays.copyOf(queue, tail * 2);
+                    queue[tail++] = next;
+                }
+            }
+        }
+        if (joinCell < 0)
+            return false;
+
+        top = positionOf(joinCell);
+        for (int cell = joinCell; cell != from; ) {
+            cell = parents.get(cell);
+            push(cell);
+        }
+        if (positions.size() > 4 * (top + 1) + 1024)
+            reindex();
+        return true;
+    }
+
+    private int positionOf(int cell) {
+        int position = positions.get(cell);
+        return position != IntIntMap.MISSING && position <= top && cells[position] == cell ? position : -1;
+    }
+
+    private void push(int cell) {
+        if (++top == cells.length)
+            cells = Arrays.copyOf(cells, cells.length * 2);
+        cells[top] = cell;
+        positions.put(cell, top);
+    }
+
+    /**
+     * Drops the map entries of cells no longer on the path.
+     */
+    private void reindex() {
+        positions.clear();
+        for (int i = 0; i <= top; i++)
+            positions.put(cells[i], i);
+    }
+}
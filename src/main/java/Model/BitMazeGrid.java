@@ -0,0 +1,124 @@
+package Model;
+
+import algorithms.mazeGenerators.Maze;
+
+import java.util.Arrays;
+
+/**
+ * A {@link MazeGrid} packed into a long[] on the heap, one bit per cell (1 for a wall).
+ * A 20000x20000 maze takes 50 MB this way, against 1.6 GB for {@code Maze}'s int[][].
+ */
+public class BitMazeGrid implements MazeGrid {
+
+    private final int rows;
+    private final int cols;
+    private final long[] walls;
+    private int startIndex;
+    private int goalIndex;
+
+    /**
+     * Creates a grid of walls, like a new {@code Maze}.
+     * @param rows number of rows
+     * @param cols number of columns
+     */
+    public BitMazeGrid(int rows, int cols) {
+        if ((long) rows * cols > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Maze too large: " + rows + "x" + cols);
+        this.rows = rows;
+        this.cols = cols;
+        this.walls = new long[(int) (((long) rows * cols + 63) >>> 6)];
+        Arrays.fill(walls, -1L);
+    }
+
+    /**
+     * Copies the cells, start and goal of a maze, reading its cells in place.
+     * @param maze the maze to convert
+     * @return a bit-packed copy of the maze
+     */
+    public static BitMazeGrid fromMaze(Maze maze) {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        BitMazeGrid grid = new BitMazeGrid(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (maze.getCell(row, col) == 0)
+                    grid.setOpen(row * cols + col, true);
+            }
+        }
+        grid.setStart(maze.getStartPosition().getRowIndex() * cols + maze.getStartPosition().getColumnIndex());
+        grid.setGoal(maze.getGoalPosition().getRowIndex() * cols + maze.getGoalPosition().getColumnIndex());
+        return grid;
+    }
+
+    /**
+     * Packs the output of {@code Maze.toByteArray()}: a 12-byte header of 16-bit values
+     * (rows, cols, start row, start column, goal row, goal column), then one byte per cell.
+     * @param mazeBytes serialized maze
+     * @return a bit-packed copy of the maze
+     */
+    public static BitMazeGrid fromBytes(byte[] mazeBytes) {
+        int rows = readShort(mazeBytes, 0);
+        int cols = readShort(mazeBytes, 2);
+        BitMazeGrid grid = new BitMazeGrid(rows, cols);
+        int cells = rows * cols;
+        for (int i = 0; i < cells; i++) {
+            if (mazeBytes[12 + i] == 0)
+                grid.setOpen(i, true);
+        }
+        grid.setStart(readShort(mazeBytes, 4) * cols + readShort(mazeBytes, 6));
+        grid.setGoal(readShort(mazeBytes, 8) * cols + readShort(mazeBytes, 10));
+        return grid;
+    }
+
+    private static int readShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xff) << 8) | (bytes[offset + 1] & 0xff);
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    @Override
+    public int getGoalIndex() {
+        return goalIndex;
+    }
+
+    @Override
+    public boolean isOpen(int index) {
+        return (walls[index >>> 6] & (1L << index)) == 0;
+    }
+
+    @Override
+    public boolean isOpen(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && isOpen(row * cols + col);
+    }
+
+    /**
+     * Opens or closes a cell. Only for building the grid, before it is shared.
+     */
+    public void setOpen(int index, boolean open) {
+        if (open)
+            walls[index >>> 6] &= ~(1L << index);
+        else
+            walls[index >>> 6] |= 1L << index;
+    }
+
+    public void setStart(int index) {
+        this.startIndex = index;
+    }
+
+    public void setGoal(int index) {
+        this.goalIndex = index;
+    }
+}
@@ -0,0 +1,53 @@
+package Model;
+
+import algorithms.search.AState;
+import algorithms.search.Solution;
+
+/**
+ * A maze cell as an {@link AState}, in the same "row,col" state format as PartB's MazeState.
+ * Used to hand int[] paths from the grid search algorithms to code that expects a {@link Solution}.
+ */
+public class CellState extends AState {
+
+    private final int row;
+    private final int col;
+
+    public CellState(int row, int col) {
+        super(row + "," + col);
+        this.row = row;
+        this.col = col;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + row + "," + col + ")";
+    }
+
+    /**
+     * Converts a path of cell indices to a {@link Solution}.
+     * @param path cell indices from start to goal
+     * @param cols number of columns of the maze the indices refer to
+     * @return a solution whose path lists the same cells in the same order
+     */
+    public static Solution toSolution(int[] path, int cols) {
+        Solution solution = new Solution();
+        CellState next = null;
+        // addToSolution prepends, so add the cells from the goal backwards
+        for (int i = path.length - 1; i >= 0; i--) {
+            CellState state = new CellState(path[i] / cols, path[i] % cols);
+            if (next != null)
+                next.setParent(state);
+            solution.addToSolution(state);
+            next = state;
+        }
+        return solution;
+    }
+}
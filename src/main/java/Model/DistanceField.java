@@ -0,0 +1,119 @@
+package Model;
+
+import algorithms.mazeGenerators.Position;
+
+import java.util.Arrays;
+
+/**
+ * Distance, in moves, from every cell of a maze to its goal.
+ * Computed once with a breadth-first search outward from the goal, using the same
+ * eight moves as the player and the search algorithms. After that, the next step toward
+ * the goal from any cell is the neighbour whose distance is one less.
+ */
+public class DistanceField {
+
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * Largest maze, in cells, that is given a distance field. The field keeps an int per cell and needs
+     * another for its search, so larger mazes go without hints, as tiled mazes do.
+     */
+    public static final int MAX_CELLS = 16_000_000;
+
+    // Neighbour order matches SearchableMaze: cardinal moves first, then diagonals
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int[] COL_STEPS = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    private final int rows;
+    private final int cols;
+    private final int[] distances;
+
+    /**
+     * Wraps distances computed earlier, for example read back from a saved session.
+     * @param distances distance of each cell by index, not copied
+     */
+    DistanceField(int rows, int cols, int[] distances) {
+        this.rows = rows;
+        this.cols = cols;
+        this.distances = distances;
+    }
+
+    /**
+     * Runs a reverse breadth-first search from the goal of the maze.
+     * @param grid snapshot of the maze
+     * @return the distance field of the maze
+     */
+    public static DistanceField compute(MazeGrid grid) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int[] distances = new int[rows * cols];
+        Arrays.fill(distances, UNREACHABLE);
+
+        int[] queue = new int[rows * cols];
+        int head = 0;
+        int tail = 0;
+        int goalIndex = grid.getGoalIndex();
+        distances[goalIndex] = 0;
+        queue[tail++] = goalIndex;
+
+        while (head < tail) {
+            int index = queue[head++];
+            int row = index / cols;
+            int col = index % cols;
+            int next = distances[index] + 1;
+            for (int d = 0; d < ROW_STEPS.length; d++) {
+                int r = row + ROW_STEPS[d];
+                int c = col + COL_STEPS[d];
+                if (!grid.isOpen(r, c))
+                    continue;
+                int neighbour = r * cols + c;
+                if (distances[neighbour] == UNREACHABLE) {
+                    distances[neighbour] = next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return new DistanceField(rows, cols, distances);
+    }
+
+    /**
+     * @return number of moves from the cell with the given index to the goal, or {@link #UNREACHABLE}
+     */
+    int getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * @return number of moves from the cell to the goal, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols)
+            return UNREACHABLE;
+        return distances[row * cols + col];
+    }
+
+    /**
+     * Finds the neighbouring cell that is one move closer to the goal.
+     * @return the next cell, or null if the cell is the goal or cannot reach it
+     */
+    public Position nextStep(int row, int col) {
+        int distance = getDistance(row, col);
+        if (distance <= 0)
+            return null;
+        for (int d = 0; d < ROW_STEPS.length; d++) {
+            int r = row + ROW_STEPS[d];
+            int c = col + COL_STEPS[d];
+            if (getDistance(r, c) == distance - 1)
+                return new Position(r, c);
+        }
+        return null;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+}
@@ -0,0 +1,88 @@
+package Model;
+
+/**
+ * A* search over a {@link MazeGrid}. Every move, straight or diagonal, costs one step,
+ * the same as a player move.
+ * <ul>
+ *     <li>{@link Heuristic#OCTILE}: with unit-cost diagonals the octile distance is
+ *     max(|dr|, |dc|). It never overestimates, so the path found has the fewest moves.</li>
+ *     <li>{@link Heuristic#MANHATTAN}: |dr| + |dc| can overestimate when diagonals are allowed.
+ *     The search is usually greedier and faster, but the path is not guaranteed to be shortest.</li>
+ * </ul>
+ */
+public class GridAStarSearch extends AGridSearchingAlgorithm {
+
+    /**
+     * Estimate of the remaining moves to the goal.
+     */
+    public enum Heuristic {
+        MANHATTAN,
+        OCTILE
+    }
+
+    private final Heuristic heuristic;
+
+    /**
+     * @param heuristic the distance estimate used to order the frontier
+     */
+    public GridAStarSearch(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public int[] solve(MazeGrid grid, int start, int goal) {
+        nodesEvaluated = 0;
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int goalRow = goal / cols;
+        int goalCol = goal % cols;
+        // Cheapest known cost to each cell plus one, so the zero-filled array means "not reached"
+        int[] costs = new int[grid.size()];
+        int[] parents = new int[grid.size()];
+        long[] closed = newBitset(grid);
+        IntMinHeap frontier = new IntMinHeap(Math.min(grid.size(), 1024));
+
+        costs[start] = 1;
+        frontier.push(estimate(start / cols, start % cols, goalRow, goalCol), start);
+        while (!frontier.isEmpty()) {
+            int cell = frontier.pop();
+            // A cell may sit in the heap more than once; only its cheapest entry is expanded
+            if (isMarked(closed, cell))
+                continue;
+            mark(closed, cell);
+            countNode();
+            if (cell == goal)
+                return tracePath(parents, start, goal);
+
+            int row = cell / cols;
+            int col = cell % cols;
+            int nextCost = costs[cell] + 1;
+            for (int d = 0; d < ROW_STEPS.length; d++) {
+                int r = row + ROW_STEPS[d];
+                int c = col + COL_STEPS[d];
+                if (r < 0 || r >= rows || c < 0 || c >= cols)
+                    continue;
+                int next = r * cols + c;
+                if (!grid.isOpen(next) || isMarked(closed, next))
+                    continue;
+                if (costs[next] != 0 && costs[next] <= nextCost)
+                    continue;
+                costs[next] = nextCost;
+                parents[next] = cell;
+                frontier.push(nextCost - 1 + estimate(r, c, goalRow, goalCol), next);
+            }
+        }
+        return NO_PATH;
+    }
+
+    private int estimate(int row, int col, int goalRow, int goalCol) {
+        int dr = Math.abs(row - goalRow);
+        int dc = Math.abs(col - goalCol);
+        return heuristic == Heuristic.OCTILE ? Math.max(dr, dc) : dr + dc;
+    }
+
+    @Override
+    public String getName() {
+        return heuristic == Heuristic.OCTILE ? "AStar (Octile)" : "AStar (Manhattan)";
+    }
+}
@@ -0,0 +1,50 @@
+package Model;
+
+/**
+ * Greedy best-first search over a {@link MazeGrid}. It always expands the frontier cell with
+ * the smallest Manhattan distance to the goal, like PartB's BestFirstSearch.
+ */
+public class GridBestFirstSearch extends AGridSearchingAlgorithm {
+
+    @Override
+    public int[] solve(MazeGrid grid, int start, int goal) {
+        nodesEvaluated = 0;
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int goalRow = goal / cols;
+        int goalCol = goal % cols;
+        long[] visited = newBitset(grid);
+        int[] parents = new int[grid.size()];
+        IntMinHeap frontier = new IntMinHeap(Math.min(grid.size(), 1024));
+
+        mark(visited, start);
+        frontier.push(0, start);
+        while (!frontier.isEmpty()) {
+            int cell = frontier.pop();
+            countNode();
+            if (cell == goal)
+                return tracePath(parents, start, goal);
+
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int d = 0; d < ROW_STEPS.length; d++) {
+                int r = row + ROW_STEPS[d];
+                int c = col + COL_STEPS[d];
+                if (r < 0 || r >= rows || c < 0 || c >= cols)
+                    continue;
+                int next = r * cols + c;
+                if (!grid.isOpen(next) || isMarked(visited, next))
+                    continue;
+                mark(visited, next);
+                parents[next] = cell;
+                frontier.push(Math.abs(r - goalRow) + Math.abs(c - goalCol), next);
+            }
+        }
+        return NO_PATH;
+    }
+
+    @Override
+    public String getName() {
+        return "BestFirstSearch";
+    }
+}
@@ -0,0 +1,125 @@
+package Model;
+
+/**
+ * Bidirectional breadth-first search over a {@link MazeGrid}.
+ * One search grows from the start and one from the goal, a whole level at a time, always
+ * expanding the side with the smaller frontier. Once a level reaches cells of the other side,
+ * the shortest of the meeting routes found in that level is returned. It has the fewest moves,
+ * like plain BFS, but usually far fewer cells are expanded.
+ */
+public class GridBidirectionalSearch extends AGridSearchingAlgorithm {
+
+    @Override
+    public int[] solve(MazeGrid grid, int start, int goal) {
+        nodesEvaluated = 0;
+        if (start == goal)
+            return new int[]{start};
+
+        Side forward = new Side(grid.size());
+        Side backward = new Side(grid.size());
+        forward.seed(start);
+        backward.seed(goal);
+
+        while (forward.hasFrontier() && backward.hasFrontier()) {
+            boolean expandForward = forward.frontierSize() <= backward.frontierSize();
+            Side current = expandForward ? forward : backward;
+            Side other = expandForward ? backward : forward;
+            if (current.expandLevel(grid, other)) {
+                int from = expandForward ? current.meetFrom : current.meetTo;
+                int to = expandForward ? current.meetTo : current.meetFrom;
+                return joinPaths(forward.parents, backward.parents, start, goal, from, to);
+            }
+        }
+        return NO_PATH;
+    }
+
+    /**
+     * Joins the route start..from found by the forward search with the route to..goal found backwards.
+     */
+    private int[] joinPaths(int[] forwardParents, int[] backwardParents, int start, int goal, int from, int to) {
+        int[] head = tracePath(forwardParents, start, from);
+        int[] tail = tracePath(backwardParents, goal, to);
+        int[] path = new int[head.length + tail.length];
+        System.arraycopy(head, 0, path, 0, head.length);
+        // tail runs goal..to, so it is copied in reverse
+        for (int i = 0; i < tail.length; i++)
+            path[head.length + i] = tail[tail.length - 1 - i];
+        return path;
+    }
+
+    /**
+     * The state of one of the two searches.
+     */
+    private final class Side {
+        // Depth of each reached cell plus one, so the zero-filled array means "not reached"
+        private final int[] depth;
+        private final int[] parents;
+        // Each cell is queued at most once per side
+        private final int[] queue;
+        private int head;
+        private int tail;
+        private int meetFrom;
+        private int meetTo;
+
+        Side(int size) {
+            this.depth = new int[size];
+            this.parents = new int[size];
+            this.queue = new int[size];
+        }
+
+        void seed(int cell) {
+            depth[cell] = 1;
+            queue[tail++] = cell;
+        }
+
+        boolean hasFrontier() {
+            return head < tail;
+        }
+
+        int frontierSize() {
+            return tail - head;
+        }
+
+        /**
+         * Expands every cell of the current level.
+         * @return true if the level reached the other side; meetFrom/meetTo then hold the best meeting edge
+         */
+        boolean expandLevel(MazeGrid grid, Side other) {
+            int rows = grid.getRows();
+            int cols = grid.getCols();
+            int levelEnd = tail;
+            int best = Integer.MAX_VALUE;
+            while (head < levelEnd) {
+                int cell = queue[head++];
+                countNode();
+                int row = cell / cols;
+                int col = cell % cols;
+                for (int d = 0; d < ROW_STEPS.length; d++) {
+                    int r = row + ROW_STEPS[d];
+                    int c = col + COL_STEPS[d];
+                    if (r < 0 || r >= rows || c < 0 || c >= cols)
+                        continue;
+                    int next = r * cols + c;
+                    if (!grid.isOpen(next))
+                        continue;
+                    if (other.depth[next] != 0 && depth[cell] + other.depth[next] < best) {
+                        best = depth[cell] + other.depth[next];
+                        meetFrom = cell;
+                        meetTo = next;
+                    }
+                    if (depth[next] == 0) {
+                        depth[next] = depth[cell] + 1;
+                        parents[next] = cell;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return best != Integer.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "BidirectionalBFS";
+    }
+}
@@ -0,0 +1,50 @@
+package Model;
+
+/**
+ * Breadth-first search over a {@link MazeGrid}. Finds a path with the fewest moves.
+ * Every cell enters the queue at most once, so a plain int array serves as the queue.
+ */
+public class GridBreadthFirstSearch extends AGridSearchingAlgorithm {
+
+    @Override
+    public int[] solve(MazeGrid grid, int start, int goal) {
+        nodesEvaluated = 0;
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        long[] visited = newBitset(grid);
+        int[] parents = new int[grid.size()];
+        int[] queue = new int[grid.size()];
+        int head = 0;
+        int tail = 0;
+
+        mark(visited, start);
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            countNode();
+            if (cell == goal)
+                return tracePath(parents, start, goal);
+
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int d = 0; d < ROW_STEPS.length; d++) {
+                int r = row + ROW_STEPS[d];
+                int c = col + COL_STEPS[d];
+                if (r < 0 || r >= rows || c < 0 || c >= cols)
+                    continue;
+                int next = r * cols + c;
+                if (!grid.isOpen(next) || isMarked(visited, next))
+                    continue;
+                mark(visited, next);
+                parents[next] = cell;
+                queue[tail++] = next;
+            }
+        }
+        return NO_PATH;
+    }
+
+    @Override
+    public String getName() {
+        return "BreadthFirstSearch";
+    }
+}
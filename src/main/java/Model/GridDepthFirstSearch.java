@@ -0,0 +1,49 @@
+package Model;
+
+/**
+ * Depth-first search over a {@link MazeGrid}. Finds some path, not necessarily a short one.
+ * Cells are marked when pushed, so the int array stack never holds more than one entry per cell.
+ */
+public class GridDepthFirstSearch extends AGridSearchingAlgorithm {
+
+    @Override
+    public int[] solve(MazeGrid grid, int start, int goal) {
+        nodesEvaluated = 0;
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        long[] visited = newBitset(grid);
+        int[] parents = new int[grid.size()];
+        int[] stack = new int[grid.size()];
+        int top = 0;
+
+        mark(visited, start);
+        stack[top++] = start;
+        while (top > 0) {
+            int cell = stack[--top];
+            countNode();
+            if (cell == goal)
+                return tracePath(parents, start, goal);
+
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int d = 0; d < ROW_STEPS.length; d++) {
+                int r = row + ROW_STEPS[d];
+                int c = col + COL_STEPS[d];
+                if (r < 0 || r >= rows || c < 0 || c >= cols)
+                    continue;
+                int next = r * cols + c;
+                if (!grid.isOpen(next) || isMarked(visited, next))
+                    continue;
+                mark(visited, next);
+                parents[next] = cell;
+                stack[top++] = next;
+            }
+        }
+        return NO_PATH;
+    }
+
+    @Override
+    public String getName() {
+        return "DepthFirstSearch";
+    }
+}
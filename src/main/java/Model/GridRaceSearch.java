@@ -0,0 +1,176 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Runs several search algorithms at once and keeps the first path found.
+ * Which algorithm is fastest depends on the maze, so racing them costs more total work
+ * but finishes with the fastest one. Once a path is found the other entrants are cancelled,
+ * and the race waits for them to stop before returning, so their progress can be reported.
+ * The number of nodes evaluated is the total over all entrants.
+ * <p>
+ * Every entrant allocates its own arrays with an entry per cell, so on mazes larger than
+ * {@link #MAX_CELLS} only the first {@link #MAX_LARGE_ENTRANTS} entrants run.
+ */
+public class GridRaceSearch extends AGridSearchingAlgorithm {
+
+    /**
+     * Largest maze, in cells, on which every entrant is raced.
+     */
+    public static final int MAX_CELLS = 4_000_000;
+
+    /**
+     * Number of entrants raced on mazes larger than {@link #MAX_CELLS}.
+     */
+    public static final int MAX_LARGE_ENTRANTS = 2;
+
+    // Shared by all races; fork-join threads are daemons
+    private static final ForkJoinPool racers = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final String name;
+    private final List<SolverType> entrants;
+    private volatile List<Entry> running = List.of();
+    private RaceResult result;
+
+    /**
+     * @param name name of the race
+     * @param entrants the algorithms to race, in order of preference on large mazes; with only optimal
+     *                 entrants the winning path is a shortest one
+     */
+    public GridRaceSearch(String name, List<SolverType> entrants) {
+        this.name = name;
+        this.entrants = List.copyOf(entrants);
+    }
+
+    @Override
+    public int[] solve(MazeGrid grid, int start, int goal) {
+        nodesEvaluated = 0;
+        result = null;
+        long begin = System.nanoTime();
+        CompletionService<Finish> finished = new ExecutorCompletionService<>(racers);
+        Map<Future<Finish>, Entry> entries = new HashMap<>();
+        for (SolverType type : entrantsFor(grid.size())) {
+            IGridSearchingAlgorithm solver = type.create();
+            Future<Finish> task = finished.submit(() -> run(solver, grid, start, goal, begin));
+            entries.put(task, new Entry(solver, task));
+        }
+        running = List.copyOf(entries.values());
+        if (isCancelled())
+            cancel();
+
+        Finish winner = null;
+        List<RaceResult.Entrant> losers = new ArrayList<>();
+        boolean interrupted = false;
+        int remaining = entries.size();
+        while (remaining > 0) {
+            Future<Finish> task;
+            try {
+                task = finished.take();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                cancel();
+                continue;
+            }
+            remaining--;
+            Finish finish;
+            try {
+                finish = task.get();
+            } catch (CancellationException e) {
+                // Cancelled before it started
+                finish = new Finish(entries.get(task).solver, null, System.nanoTime() - begin, false);
+            } catch (InterruptedException | ExecutionException e) {
+                cancel();
+                throw new IllegalStateException("Race entrant failed", e.getCause());
+            }
+            nodesEvaluated += finish.entrant.getNodesEvaluated();
+            if (winner == null && finish.path != null && finish.path.length > 0) {
+                winner = finish;
+                for (Entry entry : entries.values())
+                    entry.cancel();
+            } else {
+                losers.add(finish.entrant);
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        if (winner == null) {
+            if (interrupted || isCancelled())
+                throw new CancellationException(name + " cancelled");
+            return NO_PATH;
+        }
+        result = new RaceResult(grid.getRows(), grid.getCols(), winner.entrant, losers);
+        return winner.path;
+    }
+
+    /**
+     * @param cells size of the maze to race on
+     * @return the entrants that run on a maze of that size
+     */
+    List<SolverType> entrantsFor(int cells) {
+        if (cells <= MAX_CELLS || entrants.size() <= MAX_LARGE_ENTRANTS)
+            return entrants;
+        return entrants.subList(0, MAX_LARGE_ENTRANTS);
+    }
+
+    private static Finish run(IGridSearchingAlgorithm solver, MazeGrid grid, int start, int goal, long begin) {
+        try {
+            int[] path = solver.solve(grid, start, goal);
+            return new Finish(solver, path, System.nanoTime() - begin, true);
+        } catch (CancellationException e) {
+            return new Finish(solver, null, System.nanoTime() - begin, false);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        super.cancel();
+        for (Entry entry : running)
+            entry.cancel();
+    }
+
+    /**
+     * @return the outcome of the last solve, or null if no entrant found a path
+     */
+    public RaceResult getResult() {
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return result == null ? name : name + ": " + result.getWinner().getSolverName();
+    }
+
+    /**
+     * An entrant and its task. Cancelling stops the search if it runs and drops the task if it has not started.
+     */
+    private static final class Entry {
+        private final IGridSearchingAlgorithm solver;
+        private final Future<Finish> task;
+
+        Entry(IGridSearchingAlgorithm solver, Future<Finish> task) {
+            this.solver = solver;
+            this.task = task;
+        }
+
+        void cancel() {
+            solver.cancel();
+            task.cancel(false);
+        }
+    }
+
+    private static final class Finish {
+        private final IGridSearchingAlgorithm solver;
+        private final int[] path;
+        private final RaceResult.Entrant entrant;
+
+        Finish(IGridSearchingAlgorithm solver, int[] path, long nanos, boolean finished) {
+            this.solver = solver;
+            this.path = path;
+            this.entrant = new RaceResult.Entrant(solver.getName(), nanos, solver.getNumberOfNodesEvaluated(), finished);
+        }
+    }
+}
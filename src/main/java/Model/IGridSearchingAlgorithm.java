@@ -0,0 +1,34 @@
+package Model;
+
+/**
+ * A search algorithm over a {@link MazeGrid}.
+ * Cells are plain int indices and the result is an int[] path, so a solve allocates
+ * a few primitive arrays instead of a state object and string per visited cell.
+ */
+public interface IGridSearchingAlgorithm {
+
+    /**
+     * Searches for a path between two cells. Moves go to any of the eight neighbouring open cells.
+     * @param grid the maze snapshot to search
+     * @param start index of the start cell
+     * @param goal index of the goal cell
+     * @return the cell indices from start to goal inclusive, or an empty array if the goal is unreachable
+     * @throws java.util.concurrent.CancellationException if the solve was cancelled
+     */
+    int[] solve(MazeGrid grid, int start, int goal);
+
+    /**
+     * Asks a running or future solve of this instance to stop. May be called from any thread.
+     */
+    void cancel();
+
+    /**
+     * @return the name of the algorithm
+     */
+    String getName();
+
+    /**
+     * @return number of cells taken off the frontier during the last solve
+     */
+    int getNumberOfNodesEvaluated();
+}
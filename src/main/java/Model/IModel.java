@@ -6,7 +6,10 @@ import algorithms.search.Solution;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.Observer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Interface for the Model layer in the MVVM architecture.
@@ -21,6 +24,36 @@ public interface IModel {
      */
     void generateMaze(int rows, int cols);
 
+    /**
+     * Generates a new maze on a background thread.
+     * A pending generation or solve is cancelled, since its result would no longer apply.
+     * The maze is installed and observers are notified on the notification executor.
+     * @param rows number of rows in the maze
+     * @param cols number of columns in the maze
+     * @return a future completed with the new maze once it is installed
+     */
+    CompletableFuture<MazeGrid> generateMazeAsync(int rows, int cols);
+
+    /**
+     * Generates a new maze from a seed on a background thread, like {@link #generateMazeAsync(int, int)}.
+     * The same seed and size always give the same maze, so a maze can be played again or shared.
+     * @param rows number of rows in the maze
+     * @param cols number of columns in the maze
+     * @param seed seed the maze is derived from
+     * @return a future completed with the new maze once it is installed
+     */
+    CompletableFuture<MazeGrid> generateMazeAsync(int rows, int cols, long seed);
+
+    /**
+     * Starts a maze that is generated lazily in tiles from a seed as its cells are first read,
+     * with a bounded number of tiles kept in memory. Suited to mazes too large to generate up front.
+     * @param rows number of rows in the maze
+     * @param cols number of columns in the maze
+     * @param seed seed the maze is derived from
+     * @return a future completed with the maze grid once it is installed
+     */
+    CompletableFuture<MazeGrid> generateTiledMazeAsync(int rows, int cols, long seed);
+
     /**
      * @return the current row index of the player
      */
@@ -32,10 +65,34 @@ public interface IModel {
     int getPlayerCol();
 
     /**
-     * Solves the current maze using a predefined or random algorithm.
+     * Solves the current maze from the player's position with the selected solver type.
+     * Does nothing if the maze cannot be solved, see {@link #isSolvable()}.
      */
     void solveMaze();
 
+    /**
+     * A tiled maze is never solved: every solver allocates several arrays with an entry per cell
+     * and would generate every tile, which such a maze exists to avoid.
+     * @return true if there is a maze and it can be searched as a whole
+     */
+    boolean isSolvable();
+
+    /**
+     * Solves the current maze from the player's position on a background thread.
+     * A pending solve is cancelled. The solution is installed and observers are notified
+     * on the notification executor, unless the maze changed in the meantime.
+     * @return a future completed with the path of cell indices once it is installed, or failed with
+     * an {@link UnsupportedOperationException} if the maze cannot be solved
+     */
+    CompletableFuture<int[]> solveMazeAsync();
+
+    /**
+     * Sets the executor used to install results of background work and notify observers,
+     * e.g. {@code Platform::runLater} so that observers run on the JavaFX Application Thread.
+     * @param executor the executor for notifications
+     */
+    void setNotificationExecutor(Executor executor);
+
     /**
      * Updates the player's position based on the given movement direction.
      * @param direction the direction to move the player
@@ -73,8 +130,64 @@ public interface IModel {
      */
     void movePlayer(int newRow, int newCol);
 
+    /**
+     * Makes a run of moves as one change, with a single notification to observers.
+     * Each move counts as a step and can be undone on its own. Blocked moves are skipped,
+     * and the run stops early at the goal.
+     * @param directions the moves to make, in order
+     * @return number of moves made
+     */
+    int applyMoves(MovementDirection[] directions);
+
+    /**
+     * Moves the player as far as the corridor goes in a direction, stopping at a junction,
+     * a dead end or the goal, as one change with a single notification to observers.
+     * @param direction the direction of the first move
+     * @return number of moves made
+     */
+    int dashPlayer(MovementDirection direction);
+
+    /**
+     * Moves the player along the current solution path, as one change with a single notification to observers.
+     * @param steps largest number of moves to make
+     * @return number of moves made, fewer than asked if the path ended at the goal or there is no solution
+     */
+    int walkSolution(int steps);
+
+    /**
+     * Takes back the player's last move, in constant time.
+     * @return false if there is no move to take back
+     */
+    boolean undoMove();
+
+    /**
+     * Makes again the last move taken back, unless a new move was made since, in constant time.
+     * @return false if there is no move to make again
+     */
+    boolean redoMove();
+
+    /**
+     * Makes again several moves taken back, in order, as one change with a single notification to observers.
+     * Each move is counted and journaled as if redone alone.
+     * @param count largest number of moves to make again
+     * @return number of moves made again, fewer than asked if no more were taken back
+     */
+    int redoMoves(int count);
+
+    /**
+     * Puts the player where they were after a given number of moves of the current run.
+     * @param move number of moves from the start of the run
+     */
+    void seekMove(int move);
+
+    /**
+     * @return every move of the current run, for undo, replay and analysis, or null if there is no maze
+     */
+    MoveJournal getMoveJournal();
+
     /**
      * Assigns an observer to the model for update notifications.
+     * The observer receives a {@link ModelEvent} describing each change.
      * @param o the observer to be assigned
      */
     void assignObserver(Observer o);
@@ -85,10 +198,31 @@ public interface IModel {
     Solution getSolution();
 
     /**
-     * @return the current maze object
+     * @return the solution path as cell indices (row * cols + col) from the player's cell to the goal,
+     * or null if none has been computed
+     */
+    int[] getSolutionPath();
+
+    /**
+     * @return the solution path from the player's cell, updated in place as the player moves, or null if none
+     */
+    ActivePath getActivePath();
+
+    /**
+     * @return a copy of the current maze built from its grid, or null if there is none or it is a tiled maze
      */
     Maze getMaze();
 
+    /**
+     * @return the current maze as a bit-packed grid, for scans that visit many cells
+     */
+    MazeGrid getMazeGrid();
+
+    /**
+     * @return the seed the current maze was generated from, or null if it was generated without one or loaded from a file
+     */
+    Long getMazeSeed();
+
     /**
      * @return the target (end) position in the maze
      */
@@ -104,9 +238,23 @@ public interface IModel {
     /**
      * Saves the current maze to a specified file.
      * @param file the file to save the maze into
-     * @throws FileNotFoundException if the file cannot be created or accessed
+     * @throws IOException if the file cannot be written
+     */
+    void saveMazeToFile(File file) throws IOException;
+
+    /**
+     * Saves the whole game state, including anything already computed for the maze, to a session file.
+     * @param file the file to save the session into, replaced atomically
+     * @throws IOException if the file cannot be written
      */
-    void saveMazeToFile(File file) throws FileNotFoundException;
+    void saveSession(File file) throws IOException;
+
+    /**
+     * Resumes a game saved with {@link #saveSession}, without generating or solving anything.
+     * @param file the session file
+     * @throws IOException if the file cannot be read or is not a session file
+     */
+    void loadSession(File file) throws IOException;
 
     /**
      * @return true if the victory sequence (e.g. animation or dialog) should be shown
@@ -127,4 +275,45 @@ public interface IModel {
      * @return the name of the last algorithm used to solve the maze
      */
     String getLastUsedSolver();
+
+    /**
+     * @return number of solve requests answered from the solution cache without searching
+     */
+    long getSolutionCacheHits();
+
+    /**
+     * @return number of solve requests that required a full search
+     */
+    long getSolutionCacheMisses();
+
+    /**
+     * @return the next cell on a shortest path from the player to the goal, or null if there is none
+     */
+    Position getNextStepHint();
+
+    /**
+     * @return number of moves left from the player to the goal, or -1 if the goal is unreachable
+     */
+    int getDistanceToGoal();
+
+    /**
+     * Chooses the algorithm used by later solves.
+     * @param type the solver type; null is ignored
+     */
+    void setSolverType(SolverType type);
+
+    /**
+     * @return the algorithm used by solves
+     */
+    SolverType getSolverType();
+
+    /**
+     * @return nodes expanded and wall time of the last installed solution, or null if nothing was solved yet
+     */
+    SolveStats getLastSolveStats();
+
+    /**
+     * @return who won and by how much, if the last installed solution came from a solver race; otherwise null
+     */
+    RaceResult getLastRaceResult();
 }
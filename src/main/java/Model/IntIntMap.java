@@ -0,0 +1,92 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from non-negative int keys to int values, with open addressing and linear probing
+ * in two parallel arrays. Used for per-cell data over a small part of a maze, where an array
+ * with one slot per cell would be too large.
+ */
+public final class IntIntMap {
+
+    public static final int MISSING = -1;
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * @param capacity number of entries the map can hold without growing
+     */
+    public IntIntMap(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(4, capacity * 2 - 1)) << 1;
+        keys = new int[slots];
+        values = new int[slots];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the value stored for the key, or {@link #MISSING}
+     */
+    public int get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            int stored = keys[slot];
+            if (stored == key)
+                return values[slot];
+            if (stored == EMPTY)
+                return MISSING;
+        }
+    }
+
+    /**
+     * Stores a value for a key, replacing any previous value.
+     * @param key a non-negative key
+     * @param value the value to store
+     */
+    public void put(int key, int value) {
+        if ((size + 1) * 2 > keys.length)
+            grow();
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Removes every entry, keeping the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY)
+                put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,85 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int values ordered by int keys, stored in two parallel arrays.
+ * Used as the frontier of the grid search algorithms so no boxed entries are created.
+ * The arrays grow on demand, which lets A* push a cell again when it finds a cheaper route.
+ */
+public final class IntMinHeap {
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * @param capacity initial number of entries the heap can hold without growing
+     */
+    public IntMinHeap(int capacity) {
+        keys = new int[Math.max(1, capacity)];
+        values = new int[Math.max(1, capacity)];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a value with the given key.
+     */
+    public void push(int key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key)
+                break;
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * @return the key of the smallest entry; the heap must not be empty
+     */
+    public int peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Removes the entry with the smallest key.
+     * @return its value; the heap must not be empty
+     */
+    public int pop() {
+        int top = values[0];
+        int key = keys[--size];
+        int value = values[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && keys[child + 1] < keys[child])
+                child++;
+            if (key <= keys[child])
+                break;
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        values[i] = value;
+        return top;
+    }
+}
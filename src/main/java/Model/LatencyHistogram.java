@@ -0,0 +1,114 @@
+package Model;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram in the style of HdrHistogram: values are counted in buckets whose width grows
+ * with the value, 32 buckets per power of two, so any percentile is reported within about 3%
+ * using a fixed 15 KB of counts whatever the range. Recording is lock-free and allocation-free,
+ * so it can be called from any thread on a hot path.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below this get a bucket each
+    private static final int EXACT_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = EXACT_LIMIT + (Long.SIZE - SUB_BUCKET_BITS - 2) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records one measurement.
+     * @param nanos the measured time in nanoseconds; negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading.
+     * @param startNanos the reading taken when the measured work began
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalNanos.sum() / n;
+    }
+
+    /**
+     * @param percentile a percentile between 0 and 100
+     * @return the highest value of the bucket holding that percentile, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            total += counts.get(i);
+        if (total == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return Math.min(highestValueOf(i), maxNanos.get());
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * @return count, mean, p50, p90, p99 and max in milliseconds on one line
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s count=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms",
+                name, getCount(), getMeanNanos() / 1e6, getValueAtPercentile(50) / 1e6,
+                getValueAtPercentile(90) / 1e6, getValueAtPercentile(99) / 1e6, getMaxNanos() / 1e6);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < EXACT_LIMIT)
+            return (int) value;
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS + 1);
+        int top = (int) (value >>> shift);
+        return EXACT_LIMIT + (shift - 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    private static long highestValueOf(int bucket) {
+        if (bucket < EXACT_LIMIT)
+            return bucket;
+        int shift = (bucket - EXACT_LIMIT) / SUB_BUCKETS + 1;
+        long top = (bucket - EXACT_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,215 @@
+package Model;
+
+import algorithms.mazeGenerators.Maze;
+import algorithms.mazeGenerators.MyMazeGenerator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.*;
+
+/**
+ * Headless batch mode: generates many mazes in parallel, solves each with the chosen solvers, and writes
+ * the mazes, their solutions and a timings.csv to an output directory. Needs no JavaFX.
+ * A maze's timing rows are written and printed as soon as that maze is done.
+ * <p>
+ * Usage: {@code java Model.MazeBatch --out DIR [--count N] [--sizes 50x50,100x80] [--solvers A_STAR_OCTILE,BREADTH_FIRST]
+ * [--threads N] [--compressed]}
+ */
+public class MazeBatch {
+
+    private static final String USAGE = "Usage: java Model.MazeBatch --out DIR [--count N] [--sizes RxC,...]"
+            + " [--solvers TYPE,...] [--threads N] [--compressed]";
+    private static final String CSV_HEADER = "maze,rows,cols,generate_ms,solver,nodes_evaluated,solve_ms,path_length";
+
+    private final File outputDir;
+    private final int count;
+    private final List<int[]> sizes;
+    private final List<SolverType> solvers;
+    private final int threads;
+    private final MazeFileFormat.Encoding encoding;
+
+    /**
+     * @param outputDir directory the results are written to, created if missing
+     * @param count number of mazes of each size
+     * @param sizes maze sizes as {rows, cols}
+     * @param solvers solvers run on every maze
+     * @param threads number of mazes worked on at once
+     * @param encoding how the maze files are stored
+     */
+    public MazeBatch(File outputDir, int count, List<int[]> sizes, List<SolverType> solvers, int threads,
+                     MazeFileFormat.Encoding encoding) {
+        this.outputDir = outputDir;
+        this.count = count;
+        this.sizes = sizes;
+        this.solvers = solvers;
+        this.threads = threads;
+        this.encoding = encoding;
+    }
+
+    /**
+     * Runs a batch described by the command line and exits with 0 if every maze succeeded.
+     * @param args see the class description
+     */
+    public static void main(String[] args) {
+        MazeBatch batch;
+        try {
+            batch = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        try {
+            int failures = batch.run(System.out);
+            System.exit(failures == 0 ? 0 : 1);
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static MazeBatch parse(String[] args) {
+        File outputDir = null;
+        int count = 1;
+        List<int[]> sizes = List.of(new int[]{50, 50});
+        List<SolverType> solvers = List.of(SolverType.values());
+        int threads = Runtime.getRuntime().availableProcessors();
+        MazeFileFormat.Encoding encoding = MazeFileFormat.Encoding.BITS;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--compressed")) {
+                encoding = MazeFileFormat.Encoding.PARTB_COMPRESSED;
+                continue;
+            }
+            if (i + 1 >= args.length)
+                throw new IllegalArgumentException("Missing value for " + arg);
+            String value = args[++i];
+            try {
+                switch (arg) {
+                    case "--out" -> outputDir = new File(value);
+                    case "--count" -> count = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--sizes" -> {
+                        sizes = new ArrayList<>();
+                        for (String size : value.split(",")) {
+                            String[] parts = size.trim().toLowerCase(Locale.ROOT).split("x");
+                            if (parts.length != 2)
+                                throw new IllegalArgumentException("Invalid size " + size + ", expected RxC");
+                            sizes.add(new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])});
+                        }
+                    }
+                    case "--solvers" -> {
+                        solvers = new ArrayList<>();
+                        for (String solver : value.split(","))
+                            solvers.add(SolverType.valueOf(solver.trim().toUpperCase(Locale.ROOT)));
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for " + arg + ": " + value);
+            }
+        }
+        if (outputDir == null)
+            throw new IllegalArgumentException("--out is required");
+        if (count < 1 || threads < 1)
+            throw new IllegalArgumentException("--count and --threads must be positive");
+        return new MazeBatch(outputDir, count, sizes, solvers, threads, encoding);
+    }
+
+    /**
+     * Runs the batch, writing timing rows to timings.csv and to the given stream as mazes finish.
+     * @param progress where to print timing rows and failures
+     * @return number of mazes that failed
+     * @throws IOException if the output directory or timings file cannot be written
+     * @throws InterruptedException if interrupted while waiting for results
+     */
+    public int run(PrintStream progress) throws IOException, InterruptedException {
+        Files.createDirectories(outputDir.toPath());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CompletionService<List<String>> finished = new ExecutorCompletionService<>(pool);
+        int jobs = 0;
+        for (int[] size : sizes) {
+            for (int i = 0; i < count; i++) {
+                int id = jobs++;
+                finished.submit(() -> runOne(id, size[0], size[1]));
+            }
+        }
+
+        int failures = 0;
+        try (PrintWriter timings = new PrintWriter(Files.newBufferedWriter(outputDir.toPath().resolve("timings.csv")))) {
+            timings.println(CSV_HEADER);
+            progress.println(CSV_HEADER);
+            for (int i = 0; i < jobs; i++) {
+                try {
+                    for (String row : finished.take().get()) {
+                        timings.println(row);
+                        progress.println(row);
+                    }
+                    timings.flush();
+                } catch (ExecutionException e) {
+                    failures++;
+                    progress.println("Maze failed: " + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        progress.println(jobs - failures + " of " + jobs + " mazes written to " + outputDir.getPath());
+        return failures;
+    }
+
+    /**
+     * Generates one maze, saves it, and solves it with every solver.
+     * No model is involved: generate_ms times the generator alone, and solve_ms the search alone,
+     * without a solution cache, distance field, move journal or maze pool to add to or skew them.
+     * @return the timing rows of this maze
+     */
+    private List<String> runOne(int id, int rows, int cols) throws IOException {
+        long begin = System.nanoTime();
+        Maze maze = generate(rows, cols);
+        double generateMillis = (System.nanoTime() - begin) / 1_000_000.0;
+        MazeGrid grid = BitMazeGrid.fromMaze(maze);
+
+        String name = String.format("maze-%05d-%dx%d", id, rows, cols);
+        String extension = encoding == MazeFileFormat.Encoding.BITS ? ".maze" : MazeFileFormat.COMPRESSED_EXTENSION;
+        MazeFileFormat.write(grid, new File(outputDir, name + extension), encoding);
+
+        List<String> rowsOut = new ArrayList<>();
+        for (SolverType type : solvers) {
+            IGridSearchingAlgorithm solver = type.create();
+            long start = System.nanoTime();
+            int[] path = solver.solve(grid, grid.getStartIndex(), grid.getGoalIndex());
+            SolveStats stats = new SolveStats(solver.getName(), grid.getRows(), grid.getCols(),
+                    solver.getNumberOfNodesEvaluated(), System.nanoTime() - start, path.length, false);
+            writeSolution(new File(outputDir, name + "-" + type.name() + ".solution"), grid, path);
+            rowsOut.add(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%s,%d,%.3f,%d", name, grid.getRows(), grid.getCols(),
+                    generateMillis, type.name(), stats.getNodesEvaluated(), stats.getMillis(), stats.getPathLength()));
+        }
+        return rowsOut;
+    }
+
+    /**
+     * Generates a maze with the generator {@link MyModel} would use for its size.
+     */
+    private static Maze generate(int rows, int cols) {
+        if ((long) rows * cols >= MyModel.PARALLEL_GENERATION_CELLS)
+            return new ParallelMazeGenerator().generate(rows, cols);
+        return new MyMazeGenerator().generate(rows, cols);
+    }
+
+    /**
+     * Writes a path as one "row,col" line per cell, from the start to the goal.
+     */
+    private static void writeSolution(File file, MazeGrid grid, int[] path) throws IOException {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.US_ASCII))) {
+            for (int cell : path)
+                out.write(grid.rowOf(cell) + "," + grid.colOf(cell) + "\n");
+        }
+    }
+}
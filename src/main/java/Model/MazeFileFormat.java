@@ -0,0 +1,426 @@
+package Model;
+
+import IO.MyCompressorOutputStream;
+import IO.MyDecompressorInputStream;
+import algorithms.mazeGenerators.Maze;
+import algorithms.mazeGenerators.Position;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongPredicate;
+
+/**
+ * Reads and writes maze files.
+ * <p>
+ * Layout of a version 1 file (all numbers big-endian):
+ * <pre>
+ *  0  int   magic "MAZE"
+ *  4  short version
+ *  6  byte  encoding (0 = one bit per cell, 1 = PartB MyCompressorOutputStream)
+ *  7  byte  reserved
+ *  8  int   rows, cols, start row, start column, goal row, goal column
+ * 32  payload
+ * </pre>
+ * With the bit encoding the payload holds one bit per cell, row by row, most significant bit first,
+ * 1 for a wall. With the PartB encoding it is the compressed form of {@code Maze.toByteArray()}.
+ * <p>
+ * Files are read through a read-only memory map, so the file itself is never copied onto the heap.
+ * Files without the magic are read as the legacy format: the raw {@code Maze.toByteArray()} output
+ * that older versions of the game saved.
+ */
+public final class MazeFileFormat {
+
+    public static final int MAGIC = 0x4D415A45; // "MAZE"
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+
+    /**
+     * File name extension that selects the PartB compressed encoding when saving.
+     */
+    public static final String COMPRESSED_EXTENSION = ".mzc";
+
+    // Legacy files start with the 12-byte header of Maze.toByteArray()
+    private static final int LEGACY_HEADER_BYTES = 12;
+
+    /**
+     * How the cells of a maze are stored in the payload.
+     */
+    public enum Encoding {
+        BITS(0),
+        PARTB_COMPRESSED(1);
+
+        private final int id;
+
+        Encoding(int id) {
+            this.id = id;
+        }
+
+        static Encoding fromId(int id) throws IOException {
+            for (Encoding encoding : values()) {
+                if (encoding.id == id)
+                    return encoding;
+            }
+            throw new IOException("Unknown maze encoding " + id);
+        }
+    }
+
+    private MazeFileFormat() {
+    }
+
+    /**
+     * @return the encoding a file should be saved with, chosen by its extension
+     */
+    public static Encoding encodingFor(File file) {
+        return file.getName().toLowerCase().endsWith(COMPRESSED_EXTENSION) ? Encoding.PARTB_COMPRESSED : Encoding.BITS;
+    }
+
+    /**
+     * Writes a maze in the current format, replacing the file atomically.
+     * @param maze the maze to save
+     * @param file destination file
+     * @param encoding how to store the cells
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Maze maze, File file, Encoding encoding) throws IOException {
+        replace(file, out -> write(maze, out, encoding));
+    }
+
+    /**
+     * Writes a maze in the current format to a stream. The stream is flushed but not closed.
+     * @param maze the maze to write
+     * @param stream destination stream
+     * @param encoding how to store the cells
+     * @throws IOException if the stream cannot be written
+     */
+    public static void write(Maze maze, OutputStream stream, Encoding encoding) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        writeHeader(out, encoding, maze.getRows(), maze.getCols(),
+                maze.getStartPosition().getRowIndex(), maze.getStartPosition().getColumnIndex(),
+                maze.getGoalPosition().getRowIndex(), maze.getGoalPosition().getColumnIndex());
+        if (encoding == Encoding.BITS) {
+            int cols = maze.getCols();
+            writeBits(out, (long) maze.getRows() * cols, i -> maze.getCell((int) (i / cols), (int) (i % cols)) != 0);
+        } else {
+            MyCompressorOutputStream compressor = new MyCompressorOutputStream(out);
+            compressor.write(maze.toByteArray());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes a grid in the current format, reading its cells in row order, and replaces the file atomically.
+     * The grid may be one loaded from that same file.
+     * The PartB encoding needs the whole maze as one byte per cell, so it is only offered for grids
+     * whose size fits the 16-bit dimensions of {@code Maze.toByteArray()}.
+     * @param grid the grid to write
+     * @param file destination file
+     * @param encoding how to store the cells
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(MazeGrid grid, File file, Encoding encoding) throws IOException {
+        replace(file, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            if (encoding == Encoding.BITS) {
+                writeGrid(data, grid);
+                return;
+            }
+            writeHeader(data, encoding, grid.getRows(), grid.getCols(),
+                    grid.rowOf(grid.getStartIndex()), grid.colOf(grid.getStartIndex()),
+                    grid.rowOf(grid.getGoalIndex()), grid.colOf(grid.getGoalIndex()));
+            new MyCompressorOutputStream(data).write(toMazeBytes(grid));
+            data.flush();
+        });
+    }
+
+    /**
+     * Writes a file through a temporary file in the same directory that then replaces it atomically.
+     * The target is never truncated, so a grid still reading its cells from a map of that very file
+     * can be saved over it, and a failed save leaves the previous file intact.
+     */
+    private static void replace(File file, Payload payload) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+                payload.writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Writes the contents of a file.
+     */
+    private interface Payload {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Copies a grid into a new {@code Maze}, at four bytes per cell.
+     * @param grid the grid to copy, with at most 65535 rows and columns
+     * @return a maze with the grid's cells, start and goal
+     */
+    public static Maze toMaze(MazeGrid grid) {
+        return new Maze(toMazeBytes(grid));
+    }
+
+    /**
+     * Serializes a grid the way {@code Maze.toByteArray()} does: six big-endian shorts (rows, cols,
+     * start row, start column, goal row, goal column), then one byte per cell, 1 for a wall.
+     */
+    static byte[] toMazeBytes(MazeGrid grid) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        if (rows > 0xffff || cols > 0xffff)
+            throw new UnsupportedOperationException("Maze too large for the PartB encoding: " + rows + "x" + cols);
+        byte[] bytes = new byte[LEGACY_HEADER_BYTES + grid.size()];
+        ByteBuffer header = ByteBuffer.wrap(bytes);
+        header.putShort((short) rows).putShort((short) cols)
+                .putShort((short) grid.rowOf(grid.getStartIndex())).putShort((short) grid.colOf(grid.getStartIndex()))
+                .putShort((short) grid.rowOf(grid.getGoalIndex())).putShort((short) grid.colOf(grid.getGoalIndex()));
+        int cells = grid.size();
+        for (int i = 0; i < cells; i++)
+            bytes[LEGACY_HEADER_BYTES + i] = (byte) (grid.isOpen(i) ? 0 : 1);
+        return bytes;
+    }
+
+    /**
+     * Encodes a grid in the current format with the bit encoding.
+     * @param grid the grid to encode
+     * @return the encoded grid, readable with {@link #readGrid(ByteBuffer, String)}
+     */
+    public static byte[] toBytes(MazeGrid grid) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + (grid.size() + 7) / 8);
+        try {
+            writeGrid(new DataOutputStream(bytes), grid);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen with an in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a grid with the bit encoding to a stream. The stream is flushed but not closed.
+     */
+    static void writeGrid(DataOutputStream out, MazeGrid grid) throws IOException {
+        writeHeader(out, Encoding.BITS, grid.getRows(), grid.getCols(),
+                grid.rowOf(grid.getStartIndex()), grid.colOf(grid.getStartIndex()),
+                grid.rowOf(grid.getGoalIndex()), grid.colOf(grid.getGoalIndex()));
+        writeBits(out, grid.size(), i -> !grid.isOpen((int) i));
+        out.flush();
+    }
+
+    private static void writeHeader(DataOutputStream out, Encoding encoding, int rows, int cols,
+                                    int startRow, int startCol, int goalRow, int goalCol) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(encoding.id);
+        out.writeByte(0);
+        out.writeInt(rows);
+        out.writeInt(cols);
+        out.writeInt(startRow);
+        out.writeInt(startCol);
+        out.writeInt(goalRow);
+        out.writeInt(goalCol);
+    }
+
+    private static void writeBits(OutputStream out, long cells, LongPredicate isWall) throws IOException {
+        int current = 0;
+        int bits = 0;
+        for (long i = 0; i < cells; i++) {
+            current = (current << 1) | (isWall.test(i) ? 1 : 0);
+            if (++bits == 8) {
+                out.write(current);
+                current = 0;
+                bits = 0;
+            }
+        }
+        if (bits > 0)
+            out.write(current << (8 - bits));
+    }
+
+    /**
+     * Reads a maze file in the current or the legacy format.
+     * @param file the file to read
+     * @return the maze stored in the file
+     * @throws IOException if the file cannot be read or is not a maze file
+     */
+    public static Maze read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.getName());
+        }
+    }
+
+    /**
+     * Reads a maze in the current or the legacy format from a buffer.
+     * @param buffer the encoded maze, from position 0 to the limit
+     * @param source name of where the bytes came from, for error messages
+     * @return the decoded maze
+     * @throws IOException if the bytes are not a maze
+     */
+    public static Maze read(ByteBuffer buffer, String source) throws IOException {
+        if (buffer.limit() < LEGACY_HEADER_BYTES)
+            throw new IOException("Not a maze file: " + source);
+        if (buffer.limit() >= HEADER_BYTES && buffer.getInt(0) == MAGIC)
+            return readVersioned(buffer, source);
+        return readLegacy(buffer, source);
+    }
+
+    /**
+     * Reads a maze file as a grid without building a {@code Maze}. A bit-encoded file is used in place:
+     * the grid reads its cells from the memory map, so mazes far larger than the heap can be loaded.
+     * Other files are read with {@link #read(File)} and packed into a {@link BitMazeGrid}.
+     * @param file the file to read
+     * @return the maze stored in the file
+     * @throws IOException if the file cannot be read or is not a maze file
+     */
+    public static MazeGrid readGrid(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return readGrid(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.getName());
+        }
+    }
+
+    /**
+     * Reads a maze as a grid from a buffer. With the bit encoding the grid reads its cells from the buffer,
+     * which must not change afterwards.
+     * @param buffer the encoded maze, from position 0 to the limit
+     * @param source name of where the bytes came from, for error messages
+     * @return the decoded maze
+     * @throws IOException if the bytes are not a maze
+     */
+    public static MazeGrid readGrid(ByteBuffer buffer, String source) throws IOException {
+        long size = buffer.limit();
+        if (size >= HEADER_BYTES && buffer.getInt(0) == MAGIC && buffer.getShort(4) <= VERSION && buffer.get(6) == Encoding.BITS.id) {
+            checkHeader(buffer, source);
+            int rows = buffer.getInt(8);
+            int cols = buffer.getInt(12);
+            if (size - HEADER_BYTES < ((long) rows * cols + 7) / 8)
+                throw new IOException("Truncated maze file: " + source);
+            return OffHeapMazeGrid.wrap(buffer, HEADER_BYTES, rows, cols,
+                    buffer.getInt(16) * cols + buffer.getInt(20), buffer.getInt(24) * cols + buffer.getInt(28));
+        }
+        return BitMazeGrid.fromMaze(read(buffer, source));
+    }
+
+    private static Maze readVersioned(ByteBuffer buffer, String source) throws IOException {
+        short version = buffer.getShort(4);
+        if (version > VERSION)
+            throw new IOException("Maze file " + source + " has unsupported version " + version);
+        Encoding encoding = Encoding.fromId(buffer.get(6));
+        checkHeader(buffer, source);
+        int rows = buffer.getInt(8);
+        int cols = buffer.getInt(12);
+        Position start = new Position(buffer.getInt(16), buffer.getInt(20));
+        Position goal = new Position(buffer.getInt(24), buffer.getInt(28));
+
+        Maze maze;
+        if (encoding == Encoding.BITS) {
+            long cells = (long) rows * cols;
+            if (buffer.limit() - HEADER_BYTES < (cells + 7) / 8)
+                throw new IOException("Truncated maze file: " + source);
+            maze = readBits(buffer, rows, cols);
+        } else {
+            // The payload decompresses to Maze.toByteArray() output, which must fit in one array
+            long cells = (long) rows * cols;
+            if (cells > Integer.MAX_VALUE - 8 - LEGACY_HEADER_BYTES)
+                throw new IOException("Corrupt maze file: " + source);
+            // The PartB compressor keeps that output's 12-byte header and packs its cells one bit each
+            if (buffer.limit() - HEADER_BYTES - LEGACY_HEADER_BYTES < (cells + 7) / 8)
+                throw new IOException("Truncated maze file: " + source);
+            byte[] raw = new byte[LEGACY_HEADER_BYTES + (int) cells];
+            ByteBuffer payload = buffer.slice(HEADER_BYTES, buffer.limit() - HEADER_BYTES);
+            try (MyDecompressorInputStream in = new MyDecompressorInputStream(new ByteBufferInputStream(payload))) {
+                // The PartB stream decompresses everything in one read(byte[]) and supports no other read
+                if (in.read(raw) != raw.length)
+                    throw new IOException("Truncated maze file: " + source);
+            }
+            maze = new Maze(raw);
+        }
+        maze.setStartPosition(start);
+        maze.setGoalPosition(goal);
+        return maze;
+    }
+
+    /**
+     * Checks the size, start and goal in the header of a file in the current format.
+     * @throws IOException if the maze is empty or too large, or the start or goal is outside it
+     */
+    private static void checkHeader(ByteBuffer buffer, String source) throws IOException {
+        int rows = buffer.getInt(8);
+        int cols = buffer.getInt(12);
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE
+                || !isInside(buffer.getInt(16), buffer.getInt(20), rows, cols)
+                || !isInside(buffer.getInt(24), buffer.getInt(28), rows, cols))
+            throw new IOException("Corrupt maze file: " + source);
+    }
+
+    private static boolean isInside(int row, int col, int rows, int cols) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * Builds the maze straight from the mapped bits. A new Maze is all walls, so only open cells are set.
+     */
+    private static Maze readBits(ByteBuffer buffer, int rows, int cols) {
+        Maze maze = new Maze(rows, cols);
+        long cells = (long) rows * cols;
+        for (long i = 0; i < cells; i += 8) {
+            int packed = buffer.get(HEADER_BYTES + (int) (i >>> 3)) & 0xff;
+            if (packed == 0xff)
+                continue;
+            for (int bit = 0; bit < 8 && i + bit < cells; bit++) {
+                if ((packed & (0x80 >>> bit)) == 0) {
+                    long cell = i + bit;
+                    maze.setCell((int) (cell / cols), (int) (cell % cols), 0);
+                }
+            }
+        }
+        return maze;
+    }
+
+    private static Maze readLegacy(ByteBuffer buffer, String source) throws IOException {
+        int rows = buffer.getShort(0) & 0xffff;
+        int cols = buffer.getShort(2) & 0xffff;
+        if (buffer.limit() != LEGACY_HEADER_BYTES + (long) rows * cols)
+            throw new IOException("Not a maze file: " + source);
+        if (!isInside(buffer.getShort(4) & 0xffff, buffer.getShort(6) & 0xffff, rows, cols)
+                || !isInside(buffer.getShort(8) & 0xffff, buffer.getShort(10) & 0xffff, rows, cols))
+            throw new IOException("Corrupt maze file: " + source);
+        byte[] raw = new byte[buffer.limit()];
+        buffer.get(0, raw);
+        return new Maze(raw);
+    }
+
+    /**
+     * Reads from a byte buffer without copying it.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining())
+                return -1;
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package Model;
+
+/**
+ * Read access to the cells of a maze, addressed by row and column or by the int index
+ * {@code row * cols + col}. Implementations store one bit per cell, so a grid costs an eighth
+ * of a byte per cell instead of the four bytes per cell of {@code Maze}'s int[][].
+ * Grids are not modified once they have been handed to other code, so they can be shared
+ * by concurrent searches.
+ */
+public interface MazeGrid {
+
+    int getRows();
+
+    int getCols();
+
+    /**
+     * @return index of the start cell
+     */
+    int getStartIndex();
+
+    /**
+     * @return index of the goal cell
+     */
+    int getGoalIndex();
+
+    /**
+     * @param index a valid cell index
+     * @return true if the cell is not a wall
+     */
+    boolean isOpen(int index);
+
+    /**
+     * @return true if (row, col) is inside the grid and not a wall
+     */
+    default boolean isOpen(int row, int col) {
+        return row >= 0 && row < getRows() && col >= 0 && col < getCols() && isOpen(row * getCols() + col);
+    }
+
+    /**
+     * @return true if cells are produced on demand, so reading the whole grid is expensive
+     */
+    default boolean isLazy() {
+        return false;
+    }
+
+    /**
+     * @return number of cells in the grid
+     */
+    default int size() {
+        return getRows() * getCols();
+    }
+
+    /**
+     * @return the index of the cell at (row, col)
+     */
+    default int index(int row, int col) {
+        return row * getCols() + col;
+    }
+
+    default int rowOf(int index) {
+        return index / getCols();
+    }
+
+    default int colOf(int index) {
+        return index % getCols();
+    }
+}
@@ -0,0 +1,98 @@
+package Model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the next maze ready before it is asked for.
+ * <p>
+ * After a maze of some size is started, the pool builds another maze of that size in the background
+ * while the player plays, so the next game of the same size starts without waiting. Only one maze is
+ * kept, for the last size asked for; asking for another size drops it. Building runs on a single
+ * low-priority daemon thread shared by all pools, so it never takes a slot of the model's worker pool.
+ * @param <T> the prepared maze, with whatever was derived from it ahead of time
+ */
+final class MazePool<T> {
+
+    /**
+     * Builds one maze of the given size. Called on the pool's thread.
+     */
+    interface Factory<T> {
+        T create(int rows, int cols);
+    }
+
+    // Larger mazes are not kept, as they would hold a lot of memory for a game that may never come
+    static final long MAX_POOLED_CELLS = 4_000_000;
+
+    private static final Logger logger = LogManager.getLogger(MazePool.class);
+    private static final LongAdder hits = Metrics.counter("model.pool.hit");
+    private static final LongAdder misses = Metrics.counter("model.pool.miss");
+    private static final ExecutorService builder = createBuilder();
+
+    private final Factory<T> factory;
+    private int rows;
+    private int cols;
+    private CompletableFuture<T> next;
+
+    /**
+     * @param factory builds the mazes kept in the pool
+     */
+    MazePool(Factory<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates the thread that builds mazes ahead of time for every pool.
+     */
+    private static ExecutorService createBuilder() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "maze-pool");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes the ready maze of a size, if there is one. The pool is left empty until the next {@link #prefetch}.
+     * @return the ready maze, or null if none of that size is ready yet
+     */
+    synchronized T take(int rows, int cols) {
+        if (next == null || rows != this.rows || cols != this.cols || !next.isDone() || next.isCompletedExceptionally()) {
+            misses.increment();
+            return null;
+        }
+        T ready = next.join();
+        next = null;
+        hits.increment();
+        return ready;
+    }
+
+    /**
+     * Starts building a maze of a size in the background, unless one is already ready or being built.
+     * A maze of another size is dropped, and one still being built is cancelled if it has not started.
+     * @param rows number of rows
+     * @param cols number of columns
+     */
+    synchronized void prefetch(int rows, int cols) {
+        if ((long) rows * cols > MAX_POOLED_CELLS)
+            return;
+        if (next != null && rows == this.rows && cols == this.cols && !next.isCompletedExceptionally())
+            return;
+        if (next != null)
+            next.cancel(false);
+        this.rows = rows;
+        this.cols = cols;
+        CompletableFuture<T> building = CompletableFuture.supplyAsync(() -> factory.create(rows, cols), builder);
+        building.whenComplete((ready, error) -> {
+            if (error != null && !building.isCancelled())
+                logger.warn("Could not build the next {}x{} maze ahead of time", rows, cols, error);
+        });
+        next = building;
+    }
+}
@@ -0,0 +1,32 @@
+package Model;
+
+import Server.Configurations;
+import Server.Server;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs the maze service in its own JVM, for use with {@link RemoteModel}.
+ * Connections are served by PartB's {@code Server.Server}, whose thread pool is sized by
+ * {@code threadPoolSize} in PartB's config.properties.
+ * <p>
+ * Usage: {@code java Model.MazeServer [port]}
+ */
+public class MazeServer {
+
+    private static final Logger logger = LogManager.getLogger(MazeServer.class);
+    private static final int LISTENING_INTERVAL_MS = 1000;
+
+    /**
+     * Starts the server and keeps it running until the JVM exits.
+     * @param args optional port, {@link MazeServiceProtocol#DEFAULT_PORT} by default
+     */
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : MazeServiceProtocol.DEFAULT_PORT;
+        Server server = new Server(port, LISTENING_INTERVAL_MS, new MazeServiceStrategy());
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        logger.info("Maze server listening on port {} with {} worker threads",
+                port, Configurations.getInstance().getThreadPoolSize());
+    }
+}
@@ -0,0 +1,220 @@
+package Model;
+
+import algorithms.mazeGenerators.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client side of {@link MazeServiceProtocol}. Keeps one connection open and pipelines requests on it:
+ * callers get a future right after their request is written, and a reader thread completes the futures
+ * as replies arrive. A broken connection fails the requests in flight and is reopened by the next request.
+ */
+public class MazeServiceClient implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(MazeServiceClient.class);
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+
+    private final InetAddress host;
+    private final int port;
+
+    // Guarded by this
+    private Socket socket;
+    private DataOutputStream out;
+    private final Queue<Pending<?>> pending = new ArrayDeque<>();
+    private int nextId;
+
+    /**
+     * Creates a client. No connection is made until the first request.
+     * @param host address of the maze server
+     * @param port port of the maze server
+     */
+    public MazeServiceClient(InetAddress host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Asks the server for a new maze.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return future completed with the generated maze
+     */
+    public CompletableFuture<Maze> generate(int rows, int cols) {
+        return send(MazeServiceProtocol.OP_GENERATE, out -> {
+            out.writeInt(rows);
+            out.writeInt(cols);
+        }, in -> {
+            byte[] maze = new byte[in.readInt()];
+            in.readFully(maze);
+            return MazeFileFormat.read(ByteBuffer.wrap(maze), "maze server");
+        });
+    }
+
+    /**
+     * Asks the server to solve a maze.
+     * @param type the solver to use
+     * @param grid the maze to solve
+     * @param start index of the cell to search from
+     * @return future completed with the path and the server's stats
+     */
+    public CompletableFuture<SolveReply> solve(SolverType type, MazeGrid grid, int start) {
+        byte[] maze = MazeFileFormat.toBytes(grid);
+        return send(MazeServiceProtocol.OP_SOLVE, out -> {
+            out.writeByte(type.ordinal());
+            out.writeInt(start);
+            out.writeInt(maze.length);
+            out.write(maze);
+        }, in -> {
+            String solverName = in.readUTF();
+            int nodes = in.readInt();
+            long nanos = in.readLong();
+            int[] path = new int[in.readInt()];
+            for (int i = 0; i < path.length; i++)
+                path[i] = in.readInt();
+            return new SolveReply(path, new SolveStats(solverName, grid.getRows(), grid.getCols(),
+                    nodes, nanos, path.length, false));
+        });
+    }
+
+    private synchronized <T> CompletableFuture<T> send(int op, RequestWriter request, ReplyReader<T> reply) {
+        Pending<T> call = new Pending<>(nextId++, reply);
+        try {
+            if (socket == null)
+                connect();
+            pending.add(call);
+            out.writeByte(op);
+            out.writeInt(call.id);
+            request.write(out);
+            out.flush();
+        } catch (IOException e) {
+            disconnect(socket, e);
+            call.future.completeExceptionally(e);
+        }
+        return call.future;
+    }
+
+    private void connect() throws IOException {
+        Socket connection = new Socket();
+        try {
+            connection.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            connection.setTcpNoDelay(true);
+            out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream(), 1 << 16));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 1 << 16));
+            Thread reader = new Thread(() -> readReplies(connection, in), "maze-service-reader");
+            reader.setDaemon(true);
+            reader.start();
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+        socket = connection;
+        logger.info("Connected to maze server at {}:{}", host.getHostAddress(), port);
+    }
+
+    /**
+     * Completes pending requests in order as their replies arrive, until the connection closes.
+     */
+    private void readReplies(Socket connection, DataInputStream in) {
+        try {
+            while (true) {
+                int id = in.readInt();
+                int status = in.readUnsignedByte();
+                Pending<?> call;
+                synchronized (this) {
+                    call = pending.poll();
+                }
+                if (call == null || call.id != id)
+                    throw new IOException("Reply " + id + " does not match a pending request");
+                if (status == MazeServiceProtocol.STATUS_OK)
+                    call.complete(in);
+                else
+                    call.future.completeExceptionally(new IOException("Maze server: " + in.readUTF()));
+            }
+        } catch (IOException e) {
+            disconnect(connection, e);
+        }
+    }
+
+    /**
+     * Drops a connection if it is still the current one, failing every request waiting on it.
+     */
+    private synchronized void disconnect(Socket connection, IOException cause) {
+        if (connection == null || connection != socket)
+            return;
+        socket = null;
+        out = null;
+        try {
+            connection.close();
+        } catch (IOException ignored) {
+        }
+        List<Pending<?>> failed = new ArrayList<>(pending);
+        pending.clear();
+        for (Pending<?> call : failed)
+            call.future.completeExceptionally(cause);
+        if (!failed.isEmpty())
+            logger.warn("Lost connection to maze server with {} requests pending: {}", failed.size(), cause.getMessage());
+    }
+
+    /**
+     * Closes the connection. Requests still waiting for a reply fail.
+     */
+    @Override
+    public synchronized void close() {
+        disconnect(socket, new IOException("Client closed"));
+    }
+
+    /**
+     * A path computed by the server, with the server's search stats.
+     */
+    public static final class SolveReply {
+        private final int[] path;
+        private final SolveStats stats;
+
+        SolveReply(int[] path, SolveStats stats) {
+            this.path = path;
+            this.stats = stats;
+        }
+
+        public int[] getPath() {
+            return path;
+        }
+
+        public SolveStats getStats() {
+            return stats;
+        }
+    }
+
+    private interface RequestWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private interface ReplyReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private static final class Pending<T> {
+        private final int id;
+        private final ReplyReader<T> reader;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Pending(int id, ReplyReader<T> reader) {
+            this.id = id;
+            this.reader = reader;
+        }
+
+        void complete(DataInputStream in) throws IOException {
+            future.complete(reader.read(in));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package Model;
+
+/**
+ * Wire protocol between {@link MazeServiceClient} and {@link MazeServiceStrategy}.
+ * <p>
+ * A connection carries any number of requests, and a client may send several before reading a reply.
+ * Replies come back in request order. All numbers are big-endian.
+ * <pre>
+ * request:  byte op, int id, then
+ *           GENERATE: int rows, int cols
+ *           SOLVE:    byte solver (SolverType ordinal), int start index, int length, maze
+ * reply:    int id, byte status, then
+ *           ERROR:    UTF message
+ *           GENERATE: int length, maze
+ *           SOLVE:    UTF solver name, int nodes evaluated, long nanos, int path length, int[] path
+ * </pre>
+ * Mazes travel in {@link MazeFileFormat} with the bit encoding, one bit per cell.
+ */
+public final class MazeServiceProtocol {
+
+    public static final int DEFAULT_PORT = 5400;
+
+    public static final int OP_GENERATE = 1;
+    public static final int OP_SOLVE = 2;
+
+    public static final int STATUS_OK = 0;
+    public static final int STATUS_ERROR = 1;
+
+    private MazeServiceProtocol() {
+    }
+}
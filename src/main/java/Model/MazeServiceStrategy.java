@@ -0,0 +1,95 @@
+package Model;
+
+import Server.IServerStrategy;
+import algorithms.mazeGenerators.MyMazeGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Server side of {@link MazeServiceProtocol}, run by PartB's {@code Server.Server}.
+ * Unlike PartB's strategies it serves requests until the client closes the connection,
+ * so one socket carries a whole session. Replies are flushed once no further request is waiting,
+ * which batches the replies to pipelined requests.
+ */
+public class MazeServiceStrategy implements IServerStrategy {
+
+    private static final Logger logger = LogManager.getLogger(MazeServiceStrategy.class);
+
+    @Override
+    public void serverStrategy(InputStream inFromClient, OutputStream outToClient) {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(inFromClient, 1 << 16));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outToClient, 1 << 16));
+            int op;
+            while ((op = in.read()) >= 0) {
+                int id = in.readInt();
+                switch (op) {
+                    case MazeServiceProtocol.OP_GENERATE -> generate(id, in.readInt(), in.readInt(), out);
+                    case MazeServiceProtocol.OP_SOLVE -> solve(id, in, out);
+                    default -> throw new IOException("Unknown request " + op);
+                }
+                if (in.available() == 0)
+                    out.flush();
+            }
+            out.flush();
+        } catch (IOException e) {
+            logger.warn("Maze service connection closed: {}", e.getMessage());
+        }
+    }
+
+    private void generate(int id, int rows, int cols, DataOutputStream out) throws IOException {
+        byte[] maze;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            MazeFileFormat.write(new MyMazeGenerator().generate(rows, cols), bytes, MazeFileFormat.Encoding.BITS);
+            maze = bytes.toByteArray();
+        } catch (RuntimeException e) {
+            logger.error("Generating a {}x{} maze failed", rows, cols, e);
+            writeError(id, e, out);
+            return;
+        }
+        out.writeInt(id);
+        out.writeByte(MazeServiceProtocol.STATUS_OK);
+        out.writeInt(maze.length);
+        out.write(maze);
+    }
+
+    private void solve(int id, DataInputStream in, DataOutputStream out) throws IOException {
+        int solver = in.readUnsignedByte();
+        int start = in.readInt();
+        byte[] maze = new byte[in.readInt()];
+        in.readFully(maze);
+
+        IGridSearchingAlgorithm algorithm;
+        int[] path;
+        long nanos;
+        try {
+            MazeGrid grid = MazeFileFormat.readGrid(ByteBuffer.wrap(maze), "request " + id);
+            algorithm = SolverType.values()[solver].create();
+            long begin = System.nanoTime();
+            path = algorithm.solve(grid, start, grid.getGoalIndex());
+            nanos = System.nanoTime() - begin;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Solve request {} failed", id, e);
+            writeError(id, e, out);
+            return;
+        }
+        out.writeInt(id);
+        out.writeByte(MazeServiceProtocol.STATUS_OK);
+        out.writeUTF(algorithm.getName());
+        out.writeInt(algorithm.getNumberOfNodesEvaluated());
+        out.writeLong(nanos);
+        out.writeInt(path.length);
+        for (int cell : path)
+            out.writeInt(cell);
+    }
+
+    private void writeError(int id, Exception e, DataOutputStream out) throws IOException {
+        out.writeInt(id);
+        out.writeByte(MazeServiceProtocol.STATUS_ERROR);
+        out.writeUTF(String.valueOf(e.getMessage()));
+    }
+}
@@ -0,0 +1,112 @@
+package Model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process registry of counters and latency histograms, shared by the model and the view.
+ * Metrics are created on first use and live for the whole run; hot paths should look theirs up once
+ * and keep the reference. The registry can be shown on screen with {@link #report()} and written
+ * to a file periodically with {@link #startFileDump}.
+ */
+public final class Metrics {
+
+    private static final Logger logger = LogManager.getLogger(Metrics.class);
+
+    // Sorted by name, so reports group related metrics together
+    private static final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private static ScheduledExecutorService dumper;
+
+    private Metrics() {
+    }
+
+    /**
+     * @param name metric name, dot separated such as {@code model.move.blocked}
+     * @return the counter with that name, created if missing
+     */
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * @param name metric name, dot separated such as {@code model.solve.BREADTH_FIRST}
+     * @return the histogram with that name, created if missing
+     */
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * @return every histogram and then every counter, one per line, in name order
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (LatencyHistogram histogram : histograms.values())
+            report.append(histogram).append('\n');
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet())
+            report.append(counter.getKey()).append(' ').append(counter.getValue().sum()).append('\n');
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to a file every period, on a daemon thread. The file is replaced atomically,
+     * so a reader never sees a partial report. Calling this again changes the file and period.
+     * @param file the file to write, its directory created if missing
+     * @param period time between dumps
+     * @param unit unit of the period
+     */
+    public static synchronized void startFileDump(Path file, long period, TimeUnit unit) {
+        stopFileDump();
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(file), period, period, unit);
+    }
+
+    /**
+     * Stops the periodic dump, if one is running.
+     */
+    public static synchronized void stopFileDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    /**
+     * Writes the current report to a file, replacing it atomically.
+     * @param file the file to write, its directory created if missing
+     */
+    public static void dump(Path file) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                out.write("# " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "\n");
+                out.write(report());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write metrics to {}: {}", file, e.getMessage());
+        }
+    }
+}
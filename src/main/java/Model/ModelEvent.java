@@ -0,0 +1,97 @@
+package Model;
+
+/**
+ * A change in the model, passed to observers as the argument of {@code notifyObservers}.
+ * Player moves carry the position before and after the move.
+ */
+public final class ModelEvent {
+
+    /**
+     * What changed. Listed in the order coalesced events are handled in.
+     */
+    public enum Type {
+        MAZE_GENERATED,
+        MAZE_LOADED,
+        MAZE_SOLVED,
+        PLAYER_MOVED
+    }
+
+    private final Type type;
+    private final int fromRow;
+    private final int fromCol;
+    private final int toRow;
+    private final int toCol;
+
+    private ModelEvent(Type type, int fromRow, int fromCol, int toRow, int toCol) {
+        this.type = type;
+        this.fromRow = fromRow;
+        this.fromCol = fromCol;
+        this.toRow = toRow;
+        this.toCol = toCol;
+    }
+
+    public static ModelEvent mazeGenerated() {
+        return new ModelEvent(Type.MAZE_GENERATED, -1, -1, -1, -1);
+    }
+
+    public static ModelEvent mazeLoaded() {
+        return new ModelEvent(Type.MAZE_LOADED, -1, -1, -1, -1);
+    }
+
+    public static ModelEvent mazeSolved() {
+        return new ModelEvent(Type.MAZE_SOLVED, -1, -1, -1, -1);
+    }
+
+    /**
+     * @return an event for a move of the player from (fromRow, fromCol) to (toRow, toCol)
+     */
+    public static ModelEvent playerMoved(int fromRow, int fromCol, int toRow, int toCol) {
+        return new ModelEvent(Type.PLAYER_MOVED, fromRow, fromCol, toRow, toCol);
+    }
+
+    /**
+     * Merges this event with a later event of the same type.
+     * Several moves become one move from the first start to the last destination.
+     * @param later an event of the same type that happened after this one
+     * @return a single event with the effect of both
+     */
+    public ModelEvent coalesce(ModelEvent later) {
+        if (type == Type.PLAYER_MOVED)
+            return playerMoved(fromRow, fromCol, later.toRow, later.toCol);
+        return later;
+    }
+
+    /**
+     * @return true if this event replaces the maze, making earlier moves and solutions stale
+     */
+    public boolean replacesMaze() {
+        return type == Type.MAZE_GENERATED || type == Type.MAZE_LOADED;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getFromRow() {
+        return fromRow;
+    }
+
+    public int getFromCol() {
+        return fromCol;
+    }
+
+    public int getToRow() {
+        return toRow;
+    }
+
+    public int getToCol() {
+        return toCol;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.PLAYER_MOVED
+                ? type + " (" + fromRow + "," + fromCol + ") -> (" + toRow + "," + toCol + ")"
+                : type.toString();
+    }
+}
@@ -0,0 +1,433 @@
+package Model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The moves of one run through a maze, in order, from the cell the run started on.
+ * <p>
+ * Each move is packed into one short: the row change in the high byte and the column change in the
+ * low byte, both signed. A move of more than 127 cells in either direction, which only a jump such as
+ * {@link #seek} makes, takes six shorts: a marker, the two changes as ints, and
+ * the marker again, so that the entry can be read backwards as well as forwards.
+ * <p>
+ * The journal keeps a cursor at the player's current move. Undo and redo move the cursor one move back
+ * or forward in constant time; recording a new move after an undo drops the moves that could have been
+ * redone. Replaying the journal decodes moves on the fly and allocates nothing, so runs of millions of
+ * moves can be analysed or played back at any speed.
+ * <p>
+ * The journal can also be appended to a file as the player moves, including undos, redos and seeks as
+ * the moves they make, so the file is an append-only record of every cell the player went through.
+ * Writes are buffered and flushed when the buffer fills, when a move is logged a second or more after
+ * the last flush, and whenever the owner calls {@link #flushLog()}; the model does so every second, so
+ * moves made just before the player stops are on disk within a second too.
+ * Layout of a journal file (all numbers big-endian):
+ * <pre>
+ *  0  int    magic "MVJ1"
+ *  4  int    rows, columns, start row, start column
+ * 20  long   hash of the maze
+ * 28  short  moves, encoded as above, to the end of the file
+ * </pre>
+ * Not thread safe; the model uses it from the thread that moves the player.
+ */
+public final class MoveJournal {
+
+    /**
+     * Receives the moves of a replay.
+     */
+    public interface MoveVisitor {
+        /**
+         * @param move number of the move, from 1
+         * @param row row of the player after the move
+         * @param col column of the player after the move
+         */
+        void visit(int move, int row, int col);
+    }
+
+    public static final int MAGIC = 0x4D564A31; // "MVJ1"
+    public static final int HEADER_BYTES = 28;
+
+    /**
+     * File name extension of journal files.
+     */
+    public static final String EXTENSION = ".mvj";
+
+    private static final Logger logger = LogManager.getLogger(MoveJournal.class);
+
+    // Cannot be a move: both changes would be -128
+    private static final short JUMP = (short) 0x8080;
+    private static final int JUMP_LENGTH = 6;
+    private static final int MAX_STEP = 127;
+    private static final int BUFFER_BYTES = 1 << 14;
+    /**
+     * Longest time, in milliseconds, a logged move should wait in the buffer.
+     */
+    public static final long FLUSH_INTERVAL_MILLIS = 1000;
+    private static final long FLUSH_INTERVAL_NANOS = FLUSH_INTERVAL_MILLIS * 1_000_000L;
+
+    private final int rows;
+    private final int cols;
+    private final long mazeHash;
+    private final int startRow;
+    private final int startCol;
+
+    private short[] entries = new short[1024];
+    // Entries recorded, including undone moves that can be redone
+    private int length;
+    // Entries up to the current move
+    private int cursor;
+    private int moves;
+    private int totalMoves;
+    private int row;
+    private int col;
+
+    private FileChannel file;
+    private ByteBuffer pending;
+    private long lastFlush;
+
+    /**
+     * Starts an empty journal.
+     * @param rows number of rows of the maze
+     * @param cols number of columns of the maze
+     * @param mazeHash hash of the maze, recorded so a journal file can be matched to its maze
+     * @param startRow row the run starts on
+     * @param startCol column the run starts on
+     */
+    public MoveJournal(int rows, int cols, long mazeHash, int startRow, int startCol) {
+        this.rows = rows;
+        this.cols = cols;
+        this.mazeHash = mazeHash;
+        this.startRow = startRow;
+        this.startCol = startCol;
+        this.row = startRow;
+        this.col = startCol;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long getMazeHash() {
+        return mazeHash;
+    }
+
+    public int getStartRow() {
+        return startRow;
+    }
+
+    public int getStartCol() {
+        return startCol;
+    }
+
+    /**
+     * @return row of the player at the current move
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return column of the player at the current move
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * @return number of moves from the start to the current move
+     */
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * @return number of moves recorded, including those undone that can still be redone
+     */
+    public int getTotalMoveCount() {
+        return totalMoves;
+    }
+
+    public boolean canUndo() {
+        return moves > 0;
+    }
+
+    public boolean canRedo() {
+        return moves < totalMoves;
+    }
+
+    /**
+     * Records a move made from the current move, dropping any moves that could have been redone.
+     * @param rowChange change of the player's row
+     * @param colChange change of the player's column
+     */
+    public void record(int rowChange, int colChange) {
+        length = cursor;
+        totalMoves = moves;
+        append(rowChange, colChange);
+        cursor = length;
+        moves++;
+        totalMoves = moves;
+        row += rowChange;
+        col += colChange;
+        log(rowChange, colChange);
+    }
+
+    /**
+     * Steps back one move. The player's cell is then {@link #getRow()}, {@link #getCol()}.
+     * @return false if already at the start
+     */
+    public boolean undo() {
+        int fromRow = row;
+        int fromCol = col;
+        if (!stepBack())
+            return false;
+        log(row - fromRow, col - fromCol);
+        return true;
+    }
+
+    /**
+     * Steps forward one undone move. The player's cell is then {@link #getRow()}, {@link #getCol()}.
+     * @return false if there is no undone move
+     */
+    public boolean redo() {
+        int fromRow = row;
+        int fromCol = col;
+        if (!stepForward())
+            return false;
+        log(row - fromRow, col - fromCol);
+        return true;
+    }
+
+    /**
+     * Moves the cursor to any recorded move, as if undoing or redoing up to it.
+     * Takes time proportional to the number of moves passed over.
+     * @param move number of moves from the start, clamped to those recorded
+     */
+    public void seek(int move) {
+        int target = Math.max(0, Math.min(totalMoves, move));
+        int fromRow = row;
+        int fromCol = col;
+        while (moves > target)
+            stepBack();
+        while (moves < target)
+            stepForward();
+        if (row != fromRow || col != fromCol)
+            log(row - fromRow, col - fromCol);
+    }
+
+    /**
+     * Replays the moves from the start up to the current move.
+     * @param visitor called with each move and the cell it leads to
+     */
+    public void replay(MoveVisitor visitor) {
+        int r = startRow;
+        int c = startCol;
+        int move = 0;
+        for (int i = 0; i < cursor; ) {
+            short entry = entries[i];
+            if (entry == JUMP) {
+                r += readInt(i + 1);
+                c += readInt(i + 3);
+                i += JUMP_LENGTH;
+            } else {
+                r += entry >> 8;
+                c += (byte) entry;
+                i++;
+            }
+            visitor.visit(++move, r, c);
+        }
+    }
+
+    /**
+     * Starts appending moves to a file, beginning with a header and the moves recorded so far.
+     * An existing file is replaced.
+     * @param path the journal file, its directory created if missing
+     * @throws IOException if the file cannot be created
+     */
+    public void startLog(Path path) throws IOException {
+        closeLog();
+        Path dir = path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer start = ByteBuffer.allocate(HEADER_BYTES + cursor * Short.BYTES);
+            start.putInt(MAGIC).putInt(rows).putInt(cols).putInt(startRow).putInt(startCol).putLong(mazeHash);
+            start.asShortBuffer().put(entries, 0, cursor);
+            start.clear();
+            while (start.hasRemaining())
+                channel.write(start);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        file = channel;
+        pending = ByteBuffer.allocate(BUFFER_BYTES);
+        lastFlush = System.nanoTime();
+    }
+
+    /**
+     * Writes out buffered moves, if the journal is being logged and any are waiting.
+     */
+    public void flushLog() {
+        if (file != null && pending.position() > 0)
+            flush();
+    }
+
+    /**
+     * Writes out buffered moves and closes the file, if the journal is being logged.
+     */
+    public void closeLog() {
+        if (file == null)
+            return;
+        flush();
+        try {
+            if (file != null) // unless the flush failed and closed it
+                file.close();
+        } catch (IOException e) {
+            logger.warn("Could not close move journal: {}", e.getMessage());
+        }
+        file = null;
+        pending = null;
+    }
+
+    /**
+     * Reads a journal file, with the cursor at its last move.
+     * @param path the journal file
+     * @return the journal stored in the file
+     * @throws IOException if the file cannot be read or is not a journal file
+     */
+    public static MoveJournal read(Path path) throws IOException {
+        String source = path.getFileName().toString();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > HEADER_BYTES + (long) Integer.MAX_VALUE * Short.BYTES)
+                throw new IOException("Not a move journal: " + source);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC)
+                throw new IOException("Not a move journal: " + source);
+            int journalRows = buffer.getInt();
+            int journalCols = buffer.getInt();
+            int journalStartRow = buffer.getInt();
+            int journalStartCol = buffer.getInt();
+            long journalHash = buffer.getLong();
+            MoveJournal journal = new MoveJournal(journalRows, journalCols, journalHash, journalStartRow, journalStartCol);
+            int count = (int) ((size - HEADER_BYTES) / Short.BYTES);
+            journal.entries = new short[Math.max(16, count)];
+            buffer.asShortBuffer().get(journal.entries, 0, count);
+            journal.length = count;
+            // Walk the whole journal once to count its moves and find the last cell
+            while (journal.cursor < count) {
+                if (journal.entries[journal.cursor] == JUMP && journal.cursor + JUMP_LENGTH > count)
+                    throw new IOException("Truncated move journal: " + source);
+                journal.stepForward();
+            }
+            journal.totalMoves = journal.moves;
+            return journal;
+        }
+    }
+
+    private boolean stepBack() {
+        if (cursor == 0)
+            return false;
+        short entry = entries[cursor - 1];
+        if (entry == JUMP) {
+            cursor -= JUMP_LENGTH;
+            row -= readInt(cursor + 1);
+            col -= readInt(cursor + 3);
+        } else {
+            cursor--;
+            row -= entry >> 8;
+            col -= (byte) entry;
+        }
+        moves--;
+        return true;
+    }
+
+    private boolean stepForward() {
+        if (cursor == length)
+            return false;
+        short entry = entries[cursor];
+        if (entry == JUMP) {
+            row += readInt(cursor + 1);
+            col += readInt(cursor + 3);
+            cursor += JUMP_LENGTH;
+        } else {
+            row += entry >> 8;
+            col += (byte) entry;
+            cursor++;
+        }
+        moves++;
+        return true;
+    }
+
+    private void append(int rowChange, int colChange) {
+        if (length + JUMP_LENGTH > entries.length)
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        if (Math.abs(rowChange) <= MAX_STEP && Math.abs(colChange) <= MAX_STEP) {
+            entries[length++] = pack(rowChange, colChange);
+            return;
+        }
+        entries[length++] = JUMP;
+        entries[length++] = (short) (rowChange >>> 16);
+        entries[length++] = (short) rowChange;
+        entries[length++] = (short) (colChange >>> 16);
+        entries[length++] = (short) colChange;
+        entries[length++] = JUMP;
+    }
+
+    private int readInt(int index) {
+        return (entries[index] << 16) | (entries[index + 1] & 0xffff);
+    }
+
+    private static short pack(int rowChange, int colChange) {
+        return (short) ((rowChange << 8) | (colChange & 0xff));
+    }
+
+    /**
+     * Buffers a move for the log file, flushing when the buffer is nearly full or has waited long enough.
+     */
+    private void log(int rowChange, int colChange) {
+        if (file == null)
+            return;
+        if (Math.abs(rowChange) <= MAX_STEP && Math.abs(colChange) <= MAX_STEP) {
+            pending.putShort(pack(rowChange, colChange));
+        } else {
+            pending.putShort(JUMP).putInt(rowChange).putInt(colChange).putShort(JUMP);
+        }
+        long now = System.nanoTime();
+        if (pending.remaining() < JUMP_LENGTH * Short.BYTES || now - lastFlush > FLUSH_INTERVAL_NANOS)
+            flush();
+    }
+
+    private void flush() {
+        pending.flip();
+        try {
+            while (pending.hasRemaining())
+                file.write(pending);
+            pending.clear();
+            lastFlush = System.nanoTime();
+        } catch (IOException e) {
+            logger.warn("Could not write move journal, no longer logging moves: {}", e.getMessage());
+            try {
+                file.close();
+            } catch (IOException ignored) {
+                // already failing
+            }
+            file = null;
+            pending = null;
+        }
+    }
+}
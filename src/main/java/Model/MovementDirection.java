@@ -8,40 +8,69 @@ public enum MovementDirection {
     /**
      * Move up (row - 1, same column)
      */
-    UP,
+    UP(-1, 0),
 
     /**
      * Move down (row + 1, same column)
      */
-    DOWN,
+    DOWN(1, 0),
 
     /**
      * Move left (same row, column - 1)
      */
-    LEFT,
+    LEFT(0, -1),
 
     /**
      * Move right (same row, column + 1)
      */
-    RIGHT,
+    RIGHT(0, 1),
 
     /**
      * Move diagonally up-left (row - 1, column - 1)
      */
-    UP_LEFT,
+    UP_LEFT(-1, -1),
 
     /**
      * Move diagonally up-right (row - 1, column + 1)
      */
-    UP_RIGHT,
+    UP_RIGHT(-1, 1),
 
     /**
      * Move diagonally down-left (row + 1, column - 1)
      */
-    DOWN_LEFT,
+    DOWN_LEFT(1, -1),
 
     /**
      * Move diagonally down-right (row + 1, column + 1)
      */
-    DOWN_RIGHT
+    DOWN_RIGHT(1, 1);
+
+    private final int rowStep;
+    private final int colStep;
+
+    MovementDirection(int rowStep, int colStep) {
+        this.rowStep = rowStep;
+        this.colStep = colStep;
+    }
+
+    /**
+     * @return change of the row when moving this way
+     */
+    public int getRowStep() {
+        return rowStep;
+    }
+
+    /**
+     * @return change of the column when moving this way
+     */
+    public int getColStep() {
+        return colStep;
+    }
+
+    /**
+     * @return true for up, down, left and right
+     */
+    public boolean isCardinal() {
+        return rowStep == 0 || colStep == 0;
+    }
 }
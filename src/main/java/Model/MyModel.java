@@ -3,14 +3,22 @@ package Model;
 import algorithms.mazeGenerators.Maze;
 import algorithms.mazeGenerators.MyMazeGenerator;
 import algorithms.mazeGenerators.Position;
-import algorithms.search.*;
+import algorithms.search.Solution;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Random;
 import java.io.*;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.apache.logging.log4j.util.Unbox.box;
 
 /**
  * Model implementation for maze generation, navigation, solving, and state management.
@@ -18,10 +26,11 @@ import java.util.Observer;
  */
 public class MyModel extends Observable implements IModel {
 
-    private Maze maze;
     private Position playerPosition;
     private Position endPoint;
     private MyMazeGenerator myMazeGenerator;
+    private ParallelMazeGenerator parallelMazeGenerator;
+    private ActivePath activePath;
     private Solution solution;
     private int playerRow;
     private int playerCol;
@@ -29,53 +38,298 @@ public class MyModel extends Observable implements IModel {
     private int stepCount = 0;
     private long startTime = 0;
     private String lastUsedSolver = "None";
+    private volatile SolverType solverType = SolverType.A_STAR_OCTILE;
+    private SolveStats lastSolveStats;
+    private RaceResult lastRaceResult;
+    private final SolutionCache solutionCache = new SolutionCache();
+    private long mazeHash;
+    private Long mazeSeed;
+    private MoveJournal moveJournal;
+    // Where each run's moves are logged, or null to keep them in memory only
+    private Path journalDirectory;
+    private ScheduledFuture<?> journalFlush;
+    private MazeGrid grid;
+    private DistanceField distanceField;
     private static final Logger logger = LogManager.getLogger(MyModel.class);
 
+    // Hot-path metrics, looked up once
+    private static final LatencyHistogram moveLatency = Metrics.histogram("model.move");
+    private static final LatencyHistogram batchLatency = Metrics.histogram("model.move.batch");
+    private static final LongAdder blockedMoves = Metrics.counter("model.move.blocked");
+    private static final LongAdder pathRepairs = Metrics.counter("model.path.repaired");
+    private static final LongAdder pathLosses = Metrics.counter("model.path.lost");
+    // Only one in this many moves and wall bumps is logged, so logging does not add to every keypress.
+    // Arguments on the move path go through Unbox.box so that a log call does not allocate.
+    private static final int MOVE_LOG_SAMPLE = 256;
+    // From this many cells on, mazes are carved in parallel tiles instead of on one thread
+    static final long PARALLEL_GENERATION_CELLS = 1_000_000;
+    private int blockedMoveCount = 0;
+
+    // Background work: a small bounded pool, so a burst of requests cannot pile up unbounded
+    private static final int WORKER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static final int WORKER_QUEUE_CAPACITY = 8;
+    private static final ExecutorService workers = createWorkerPool();
+    // Wakes each model logging moves to a file once a second, so moves buffered before the player stops get written
+    private static final ScheduledExecutorService journalFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Where results of background work are installed and observers notified
+    private volatile Executor notificationExecutor = Runnable::run;
+    private CompletableFuture<?> pendingGeneration;
+    private CompletableFuture<?> pendingSolve;
+    // The solver of the pending solve, stopped when the solve is superseded
+    private IGridSearchingAlgorithm pendingSolver;
+    // The next maze of the last size, generated and solved ahead of time
+    private final MazePool<PreparedMaze> mazePool = new MazePool<>(this::prepareAhead);
+
     /**
-     * Constructor initializes the maze generator.
+     * Constructor initializes the maze generators.
      */
     public MyModel() {
         myMazeGenerator = new MyMazeGenerator();
+        parallelMazeGenerator = new ParallelMazeGenerator();
+    }
+
+    /**
+     * Creates the shared worker pool used for asynchronous generation and solving.
+     * Threads are daemons so a pending task never keeps the application alive.
+     */
+    private static ExecutorService createWorkerPool() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "maze-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(WORKER_QUEUE_CAPACITY), factory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs work on the worker pool. When the pool and its queue are full the request is refused
+     * with a failed future, as callers on the JavaFX Application Thread expect failures in the future.
+     * @return future completed with the result of the work
+     */
+    private static <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, workers);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Worker pool is full, refusing request");
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Too many requests are pending. Try again once the current ones finish.", e));
+        }
+    }
+
+    @Override
+    public void setNotificationExecutor(Executor executor) {
+        this.notificationExecutor = executor;
     }
 
     /**
      * Generates a new maze with specified dimensions and initializes player state.
+     * Unlike {@link #generateMazeAsync(int, int)}, this does not have the pool prepare a next maze,
+     * so headless callers such as {@link MazeBatch} do no work beyond the maze they asked for.
      * @param rows number of rows
      * @param cols number of columns
      */
     public void generateMaze(int rows, int cols) {
         logger.info("Generating maze with size {}x{}", rows, cols);
-        maze = myMazeGenerator.generate(rows, cols);
-        playerPosition = maze.getStartPosition();
-        playerRow = playerPosition.getRowIndex();
-        playerCol = playerPosition.getColumnIndex();
+        cancelPending();
+        installMaze(new PreparedMaze(timedGenerate(rows, cols)));
+    }
+
+    /**
+     * Generates a new maze on the worker pool, cancelling any pending generation or solve.
+     * If the pool already holds a maze of this size, that maze is installed instead without waiting.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return future completed once the maze is installed
+     */
+    @Override
+    public CompletableFuture<MazeGrid> generateMazeAsync(int rows, int cols) {
+        cancelPending();
+        PreparedMaze pooled = mazePool.take(rows, cols);
+        if (pooled != null) {
+            logger.info("Starting maze with size {}x{} generated ahead of time", rows, cols);
+            return install(CompletableFuture.completedFuture(pooled), rows, cols);
+        }
+        logger.info("Generating maze with size {}x{} in the background", rows, cols);
+        // The snapshot and distance field are built on the worker too, so installing stays cheap
+        return install(submit(() -> new PreparedMaze(timedGenerate(rows, cols))), rows, cols);
+    }
+
+    /**
+     * Generates a new maze from a seed on the worker pool, cancelling any pending generation or solve.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param seed seed the maze is derived from; the same seed and size give the same maze
+     * @return future completed once the maze is installed
+     */
+    @Override
+    public CompletableFuture<MazeGrid> generateMazeAsync(int rows, int cols, long seed) {
+        cancelPending();
+        logger.info("Generating maze with size {}x{} from seed {} in the background", rows, cols, seed);
+        return install(submit(() -> new PreparedMaze(timedGenerate(rows, cols, seed), seed)), rows, cols);
+    }
+
+    /**
+     * Installs a maze once it is prepared, then has the pool prepare the next one of the same size.
+     * @param task the maze being prepared
+     * @return future completed once the maze is installed
+     */
+    private CompletableFuture<MazeGrid> install(CompletableFuture<PreparedMaze> task, int rows, int cols) {
+        CompletableFuture<MazeGrid> result = task.thenApplyAsync(prepared -> {
+            installMaze(prepared);
+            return prepared.grid;
+        }, notificationExecutor);
+        // Cancelling the result also drops the task if it has not started yet
+        result.whenComplete((generated, error) -> {
+            task.cancel(false);
+            if (error == null)
+                mazePool.prefetch(rows, cols);
+        });
+        pendingGeneration = result;
+        return result;
+    }
+
+    /**
+     * Starts a maze whose tiles are generated from a seed as they are first looked at.
+     * Nothing is generated up front, so this returns at once whatever the size.
+     * Hints are not available for such a maze, as they need a distance to the goal for every cell,
+     * and it cannot be solved, see {@link #isSolvable()}.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param seed seed the maze is derived from; the same seed and size give the same maze
+     * @return future completed once the maze is installed
+     */
+    @Override
+    public CompletableFuture<MazeGrid> generateTiledMazeAsync(int rows, int cols, long seed) {
+        cancelPending();
+        logger.info("Starting tiled maze of size {}x{} from seed {}", rows, cols, seed);
+        return CompletableFuture.supplyAsync(() -> {
+            TiledMazeGrid tiled = new TiledMazeGrid(rows, cols, seed);
+            installMaze(new PreparedMaze(tiled, tiled.getContentHash(), null, seed));
+            return tiled;
+        }, notificationExecutor);
+    }
+
+    /**
+     * Builds a new maze. Called on a worker thread for asynchronous generation.
+     * Large mazes are carved on all cores by the parallel generator.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return the generated maze
+     */
+    protected Maze generate(int rows, int cols) {
+        if ((long) rows * cols >= PARALLEL_GENERATION_CELLS)
+            return parallelMazeGenerator.generate(rows, cols);
+        return myMazeGenerator.generate(rows, cols);
+    }
+
+    /**
+     * Builds a new maze from a seed. Called on a worker thread for asynchronous generation.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param seed seed the maze is derived from
+     * @return the generated maze, the same for the same seed and size
+     */
+    protected Maze generate(int rows, int cols, long seed) {
+        return parallelMazeGenerator.generate(rows, cols, seed);
+    }
+
+    /**
+     * Builds a new maze, recording how long it took.
+     */
+    private Maze timedGenerate(int rows, int cols) {
+        long begin = System.nanoTime();
+        Maze generated = generate(rows, cols);
+        Metrics.histogram("model.generate").recordSince(begin);
+        return generated;
+    }
+
+    /**
+     * Builds a new maze from a seed, recording how long it took.
+     */
+    private Maze timedGenerate(int rows, int cols, long seed) {
+        long begin = System.nanoTime();
+        Maze generated = generate(rows, cols, seed);
+        Metrics.histogram("model.generate").recordSince(begin);
+        return generated;
+    }
+
+    /**
+     * Builds a maze for the pool and solves it from its start with the current solver type.
+     * The path goes into the solution cache, so solving the maze once it is started is a cache hit.
+     * Called on the pool's thread.
+     */
+    private PreparedMaze prepareAhead(int rows, int cols) {
+        PreparedMaze prepared = new PreparedMaze(timedGenerate(rows, cols));
+        MazeGrid target = prepared.grid;
+        Solved solved = timedSearch(solverType, target, target.getStartIndex());
+        solutionCache.put(prepared.hash, target.getStartIndex(), solved.path, solved.stats.getSolverName());
+        return prepared;
+    }
+
+    /**
+     * Cancels pending background generation and solving.
+     */
+    private void cancelPending() {
+        if (pendingGeneration != null)
+            pendingGeneration.cancel(false);
+        cancelSolve();
+    }
+
+    /**
+     * Cancels the pending solve. Cancelling the future only drops a solve that has not started,
+     * so a running search is also asked to stop, freeing its worker and, for a race, every core.
+     */
+    private void cancelSolve() {
+        if (pendingSolve != null)
+            pendingSolve.cancel(false);
+        if (pendingSolver != null)
+            pendingSolver.cancel();
+        pendingSolver = null;
+    }
+
+    /**
+     * Makes a maze the current maze, resets the player state and notifies observers.
+     * @param prepared the maze to install, with its snapshot and distance field
+     */
+    private void installMaze(PreparedMaze prepared) {
+        useMaze(prepared);
+        startJournal();
         stepCount = 0;
         startTime = System.currentTimeMillis();
         setChanged();
-        notifyObservers("mazeGenerated");
+        notifyObservers(ModelEvent.mazeGenerated());
         movePlayer(playerRow, playerCol);
     }
 
+    /**
+     * Makes a maze current and puts the player at its start. Any solution of the previous maze is dropped.
+     */
+    private void useMaze(PreparedMaze prepared) {
+        mazeHash = prepared.hash;
+        mazeSeed = prepared.seed;
+        grid = prepared.grid;
+        distanceField = prepared.distances;
+        playerRow = grid.rowOf(grid.getStartIndex());
+        playerCol = grid.colOf(grid.getStartIndex());
+        playerPosition = new Position(playerRow, playerCol);
+        endPoint = new Position(grid.rowOf(grid.getGoalIndex()), grid.colOf(grid.getGoalIndex()));
+        activePath = null;
+        solution = null;
+    }
+
     /**
      * Updates the player's location based on the direction input.
      * @param direction movement direction (UP, DOWN, etc.)
      */
     public void updatePlayerLocation(MovementDirection direction) {
-        int newRow = playerRow;
-        int newCol = playerCol;
-
-        switch (direction) {
-            case UP -> newRow--;
-            case DOWN -> newRow++;
-            case LEFT -> newCol--;
-            case RIGHT -> newCol++;
-            case UP_LEFT -> { newRow--; newCol--; }
-            case UP_RIGHT -> { newRow--; newCol++; }
-            case DOWN_LEFT -> { newRow++; newCol--; }
-            case DOWN_RIGHT -> { newRow++; newCol++; }
-        }
-
-        movePlayer(newRow, newCol);
+        movePlayer(playerRow + direction.getRowStep(), playerCol + direction.getColStep());
     }
 
     /**
@@ -92,9 +346,7 @@ public class MyModel extends Observable implements IModel {
      * @return true if cell is walkable
      */
     public boolean isWalkable(int row, int col) {
-        if (row < 0 || row >= maze.getRows() || col < 0 || col >= maze.getCols())
-            return false;
-        return maze.getCell(row, col) == 0;
+        return grid.isOpen(row, col);
     }
 
     /**
@@ -103,20 +355,299 @@ public class MyModel extends Observable implements IModel {
      * @param newCol target column
      */
     public void movePlayer(int newRow, int newCol) {
-        if (isWalkable(newRow, newCol)) {
-            logger.debug("Moving player to {}, {}", newRow, newCol);
-            playerRow = newRow;
-            playerCol = newCol;
-            showVictorySequence = playerRow == maze.getGoalPosition().getRowIndex()
-                    && playerCol == maze.getGoalPosition().getColumnIndex();
-            stepCount++;
-            setChanged();
-            notifyObservers("playerMoved");
-            if (showVictorySequence) {
-                logger.info("Player reached the goal!");
+        long begin = System.nanoTime();
+        int oldRow = playerRow;
+        int oldCol = playerCol;
+        if (step(newRow, newCol)) {
+            notifyMoved(oldRow, oldCol);
+            moveLatency.recordSince(begin);
+        }
+    }
+
+    /**
+     * Makes a run of moves as one change: each move is made, counted and journaled as if made alone,
+     * but observers are notified once, with a move from the first cell to the last.
+     * Blocked moves are skipped, and the run stops early if the player reaches the goal.
+     * @param directions the moves to make, in order
+     * @return number of moves made
+     */
+    @Override
+    public int applyMoves(MovementDirection[] directions) {
+        long begin = System.nanoTime();
+        int oldRow = playerRow;
+        int oldCol = playerCol;
+        int moved = 0;
+        for (MovementDirection direction : directions) {
+            if (step(playerRow + direction.getRowStep(), playerCol + direction.getColStep()))
+                moved++;
+            if (showVictorySequence)
+                break;
+        }
+        if (moved > 0) {
+            notifyMoved(oldRow, oldCol);
+            batchLatency.recordSince(begin);
+        }
+        return moved;
+    }
+
+    /**
+     * Dashes the player as far as a corridor goes, as one change with a single notification.
+     * Moving up, down, left or right, the dash follows the corridor around its turns and stops at a
+     * junction, a dead end or the goal. Moving diagonally, it goes straight until the next cell is blocked.
+     * @param direction the direction of the first move
+     * @return number of moves made
+     */
+    @Override
+    public int dashPlayer(MovementDirection direction) {
+        long begin = System.nanoTime();
+        int oldRow = playerRow;
+        int oldCol = playerCol;
+        int rowStep = direction.getRowStep();
+        int colStep = direction.getColStep();
+        int moved = 0;
+        // A corridor cannot be longer than the maze has cells; the bound also ends a dash around a closed loop
+        long limit = (long) grid.getRows() * grid.getCols();
+        while (moved < limit && !showVictorySequence && step(playerRow + rowStep, playerCol + colStep)) {
+            moved++;
+            if (!direction.isCardinal())
+                continue;
+            // Carry on through the only open side other than the way back, if there is exactly one
+            int exits = 0;
+            int nextRowStep = 0;
+            int nextColStep = 0;
+            for (int d = 0; d < 4; d++) {
+                int r = AGridSearchingAlgorithm.ROW_STEPS[d];
+                int c = AGridSearchingAlgorithm.COL_STEPS[d];
+                if ((r == -rowStep && c == -colStep) || !grid.isOpen(playerRow + r, playerCol + c))
+                    continue;
+                exits++;
+                nextRowStep = r;
+                nextColStep = c;
             }
-        } else {
-            logger.warn("Attempted to move to invalid cell {}, {}", newRow, newCol);
+            if (exits != 1)
+                break;
+            rowStep = nextRowStep;
+            colStep = nextColStep;
+        }
+        if (moved > 0) {
+            notifyMoved(oldRow, oldCol);
+            batchLatency.recordSince(begin);
+        }
+        return moved;
+    }
+
+    /**
+     * Walks the player along the solution path, as one change with a single notification.
+     * Each move is counted and journaled as if made alone, and keeps the path starting at the player.
+     * @param steps largest number of moves to make
+     * @return number of moves made
+     */
+    @Override
+    public int walkSolution(int steps) {
+        long begin = System.nanoTime();
+        int oldRow = playerRow;
+        int oldCol = playerCol;
+        int walked = 0;
+        while (walked < steps && activePath != null && activePath.size() >= 2 && !showVictorySequence) {
+            int next = activePath.cellAt(1);
+            if (!step(grid.rowOf(next), grid.colOf(next)))
+                break;
+            walked++;
+        }
+        if (walked > 0) {
+            notifyMoved(oldRow, oldCol);
+            batchLatency.recordSince(begin);
+        }
+        return walked;
+    }
+
+    /**
+     * Makes one move without notifying observers: checks the cell, counts and journals the move,
+     * and puts the player there.
+     * @return false if the cell is blocked
+     */
+    private boolean step(int newRow, int newCol) {
+        if (!isWalkable(newRow, newCol)) {
+            blockedMoves.increment();
+            if (blockedMoveCount++ % MOVE_LOG_SAMPLE == 0)
+                logger.warn("Attempted to move to invalid cell {}, {} ({} blocked moves so far)",
+                        box(newRow), box(newCol), box(blockedMoveCount));
+            return false;
+        }
+        if (stepCount % MOVE_LOG_SAMPLE == 0)
+            logger.debug("Moving player to {}, {} (step {})", box(newRow), box(newCol), box(stepCount));
+        stepCount++;
+        if (moveJournal != null && (newRow != playerRow || newCol != playerCol))
+            moveJournal.record(newRow - playerRow, newCol - playerCol);
+        setPlayerCell(newRow, newCol);
+        return true;
+    }
+
+    /**
+     * Puts the player on a cell and keeps the solution path starting there.
+     */
+    private void setPlayerCell(int newRow, int newCol) {
+        playerRow = newRow;
+        playerCol = newCol;
+        showVictorySequence = grid.index(playerRow, playerCol) == grid.getGoalIndex();
+        if (activePath != null)
+            followActivePath(grid.index(newRow, newCol));
+    }
+
+    /**
+     * Puts the player on a cell, keeps the solution path starting there, and notifies observers.
+     */
+    private void placePlayer(int newRow, int newCol) {
+        int oldRow = playerRow;
+        int oldCol = playerCol;
+        setPlayerCell(newRow, newCol);
+        notifyMoved(oldRow, oldCol);
+    }
+
+    /**
+     * Tells observers the player moved from a cell to the current cell.
+     */
+    private void notifyMoved(int oldRow, int oldCol) {
+        setChanged();
+        notifyObservers(ModelEvent.playerMoved(oldRow, oldCol, playerRow, playerCol));
+        if (showVictorySequence) {
+            logger.info("Player reached the goal!");
+        }
+    }
+
+    /**
+     * Takes back the player's last move. The step count goes back by one.
+     * @return false if there is no move to take back
+     */
+    @Override
+    public boolean undoMove() {
+        if (moveJournal == null || !moveJournal.undo())
+            return false;
+        stepCount--;
+        placePlayer(moveJournal.getRow(), moveJournal.getCol());
+        return true;
+    }
+
+    /**
+     * Makes again the last move taken back, unless a new move was made since.
+     * @return false if there is no move to make again
+     */
+    @Override
+    public boolean redoMove() {
+        if (moveJournal == null || !moveJournal.redo())
+            return false;
+        stepCount++;
+        placePlayer(moveJournal.getRow(), moveJournal.getCol());
+        return true;
+    }
+
+    /**
+     * Makes again up to a number of moves taken back, with a single notification.
+     * The solution path follows the player through every move, as with {@link #redoMove()}.
+     * @param count largest number of moves to make again
+     * @return number of moves made again
+     */
+    @Override
+    public int redoMoves(int count) {
+        if (moveJournal == null)
+            return 0;
+        long begin = System.nanoTime();
+        int oldRow = playerRow;
+        int oldCol = playerCol;
+        int redone = 0;
+        while (redone < count && moveJournal.redo()) {
+            setPlayerCell(moveJournal.getRow(), moveJournal.getCol());
+            redone++;
+        }
+        if (redone > 0) {
+            stepCount += redone;
+            notifyMoved(oldRow, oldCol);
+            batchLatency.recordSince(begin);
+        }
+        return redone;
+    }
+
+    /**
+     * Puts the player where they were after a given number of moves of this run, as if undoing or
+     * redoing up to there, with a single notification.
+     * @param move number of moves from the start of the run, clamped to those recorded
+     */
+    @Override
+    public void seekMove(int move) {
+        if (moveJournal == null)
+            return;
+        int before = moveJournal.getMoveCount();
+        moveJournal.seek(move);
+        stepCount += moveJournal.getMoveCount() - before;
+        placePlayer(moveJournal.getRow(), moveJournal.getCol());
+    }
+
+    /**
+     * @return the moves of the current run, or null if there is no maze
+     */
+    @Override
+    public MoveJournal getMoveJournal() {
+        return moveJournal;
+    }
+
+    /**
+     * Sets where the moves of each run are logged, one journal file per run.
+     * Takes effect from the next maze. Buffered moves are flushed every second on the notification executor,
+     * so when logging to files that executor should be the thread that moves the player.
+     * @param directory the directory for journal files, or null to keep moves in memory only
+     */
+    public void setJournalDirectory(Path directory) {
+        this.journalDirectory = directory;
+    }
+
+    /**
+     * Writes out and closes the journal file of the current run, if one is being logged.
+     */
+    public void closeMoveJournal() {
+        if (journalFlush != null) {
+            journalFlush.cancel(false);
+            journalFlush = null;
+        }
+        if (moveJournal != null)
+            moveJournal.closeLog();
+    }
+
+    /**
+     * Starts a new journal from the player's current cell, closing the previous run's file.
+     */
+    private void startJournal() {
+        closeMoveJournal();
+        moveJournal = new MoveJournal(grid.getRows(), grid.getCols(), mazeHash, playerRow, playerCol);
+        if (journalDirectory == null)
+            return;
+        String name = "run-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")) + MoveJournal.EXTENSION;
+        try {
+            moveJournal.startLog(journalDirectory.resolve(name));
+        } catch (IOException e) {
+            logger.warn("Could not log moves to {}: {}", journalDirectory, e.getMessage());
+            return;
+        }
+        // The journal is not thread safe, so the flush itself runs where the player is moved
+        MoveJournal logged = moveJournal;
+        journalFlush = journalFlusher.scheduleWithFixedDelay(() -> notificationExecutor.execute(logged::flushLog),
+                MoveJournal.FLUSH_INTERVAL_MILLIS, MoveJournal.FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Keeps the solution path starting at the player's cell. Only if the player has strayed
+     * too far for a local detour is the maze solved again.
+     */
+    private void followActivePath(int playerCell) {
+        solution = null;
+        ActivePath.Update update = activePath.moveTo(playerCell);
+        if (update == ActivePath.Update.REPAIRED) {
+            pathRepairs.increment();
+            logger.debug("Spliced a detour into the solution at {}, {}", box(playerRow), box(playerCol));
+        } else if (update == ActivePath.Update.LOST) {
+            pathLosses.increment();
+            logger.info("Player left the solution path, solving again");
+            activePath = null;
+            solveMazeAsync();
         }
     }
 
@@ -125,21 +656,21 @@ public class MyModel extends Observable implements IModel {
      * @return true if player is at goal
      */
     public boolean isAtGoal() {
-        return playerPosition.equals(maze.getGoalPosition());
+        return playerPosition.equals(endPoint);
     }
 
     /**
      * @return number of rows in the maze
      */
     public int getMazeRows() {
-        return maze.getRows();
+        return grid.getRows();
     }
 
     /**
      * @return number of columns in the maze
      */
     public int getMazeCols() {
-        return maze.getCols();
+        return grid.getCols();
     }
 
     /**
@@ -149,7 +680,7 @@ public class MyModel extends Observable implements IModel {
      * @return 0 for path, 1 for wall
      */
     public int getCell(int row, int col) {
-        return maze.getCell(row, col);
+        return grid.isOpen(row, col) ? 0 : 1;
     }
 
     @Override
@@ -163,38 +694,195 @@ public class MyModel extends Observable implements IModel {
     }
 
     /**
-     * Solves the current maze using a randomly selected search algorithm (BFS, DFS, BestFS).
+     * Solves the current maze from the player's position with the selected solver type.
      * Notifies observers with the solution.
      */
     @Override
     public void solveMaze() {
-        if (maze == null) {
+        if (grid == null) {
             logger.error("solveMaze() called but maze is null.");
             return;
         }
+        if (!isSolvable()) {
+            logger.warn("solveMaze() called on a tiled maze, which cannot be solved.");
+            return;
+        }
 
-        Position current = new Position(playerRow, playerCol);
-        Maze dynamicMaze = new Maze(maze.toByteArray());
-        dynamicMaze.setStartPosition(current);
-        ISearchable searchableMaze = new SearchableMaze(dynamicMaze);
+        int start = grid.index(playerRow, playerCol);
+        Solved cached = lookupCache(mazeHash, grid, start);
+        if (cached != null) {
+            installSolution(cached);
+            return;
+        }
+        Solved solved = timedSearch(solverType, grid, start);
+        solutionCache.put(mazeHash, start, solved.path, solved.stats.getSolverName());
+        installSolution(solved);
+    }
 
-        ISearchingAlgorithm[] solvers = {
-                new BreadthFirstSearch(),
-                new DepthFirstSearch(),
-                new BestFirstSearch()
-        };
+    /**
+     * @return true if there is a maze and it is not a tiled one
+     */
+    @Override
+    public boolean isSolvable() {
+        return grid != null && !grid.isLazy();
+    }
 
-        Random rand = new Random();
-        int index = rand.nextInt(solvers.length);
-        ISearchingAlgorithm solver = solvers[index];
-        this.lastUsedSolver = solver.getClass().getSimpleName();
+    /**
+     * Makes a path the current solution and notifies observers.
+     * The {@link Solution} form is only built if someone asks for it.
+     */
+    private void installSolution(Solved solved) {
+        this.lastUsedSolver = solved.stats.getSolverName();
+        this.lastSolveStats = solved.stats;
+        this.lastRaceResult = solved.race;
+        this.activePath = solved.path.length == 0 ? null : new ActivePath(grid, solved.path);
+        this.solution = null;
+        // An async solve starts where the player was when it was requested
+        int playerCell = grid.index(playerRow, playerCol);
+        if (activePath != null && activePath.cellAt(0) != playerCell)
+            followActivePath(playerCell);
+        setChanged();
+        notifyObservers(ModelEvent.mazeSolved());
+    }
 
-        logger.info("Solving maze using {}", lastUsedSolver);
+    /**
+     * Solves the maze from the player's current position on the worker pool.
+     * The maze snapshot and position are captured now; the solution is dropped if the maze changes before it arrives.
+     * @return future completed with the path of cell indices once it is installed
+     */
+    @Override
+    public CompletableFuture<int[]> solveMazeAsync() {
+        if (grid == null) {
+            logger.error("solveMazeAsync() called but maze is null.");
+            return CompletableFuture.failedFuture(new IllegalStateException("Maze is null"));
+        }
+        if (!isSolvable())
+            return CompletableFuture.failedFuture(new UnsupportedOperationException("Tiled mazes are too large to solve."));
+        cancelSolve();
 
-        this.solution = solver.solve(searchableMaze);
+        MazeGrid target = grid;
+        long targetHash = mazeHash;
+        int start = target.index(playerRow, playerCol);
+        SolverType type = solverType;
 
-        setChanged();
-        notifyObservers("mazeSolved");
+        Solved cached = lookupCache(targetHash, target, start);
+        if (cached != null) {
+            CompletableFuture<int[]> result = CompletableFuture.supplyAsync(() -> {
+                if (grid != target)
+                    throw new CancellationException("Maze changed while solving");
+                installSolution(cached);
+                return cached.path;
+            }, notificationExecutor);
+            pendingSolve = result;
+            return result;
+        }
+
+        IGridSearchingAlgorithm solver = createSolver(type);
+        CompletableFuture<Solved> task = submit(() -> {
+            Solved solved = timedSearch(type, solver, target, start);
+            solutionCache.put(targetHash, start, solved.path, solved.stats.getSolverName());
+            return solved;
+        });
+        CompletableFuture<int[]> result = task.thenApplyAsync(solved -> {
+            if (grid != target)
+                throw new CancellationException("Maze changed while solving");
+            installSolution(solved);
+            return solved.path;
+        }, notificationExecutor);
+        result.whenComplete((path, error) -> task.cancel(false));
+        pendingSolve = result;
+        pendingSolver = solver;
+        return result;
+    }
+
+    /**
+     * Looks up a cached path from a cell, timing the lookup.
+     * @return the cached path with its stats, or null on a miss
+     */
+    private Solved lookupCache(long hash, MazeGrid target, int start) {
+        long begin = System.nanoTime();
+        SolutionCache.Result cached = solutionCache.get(hash, start);
+        if (cached == null)
+            return null;
+        logger.info("Solution cache hit at {}, {}", target.rowOf(start), target.colOf(start));
+        SolveStats stats = new SolveStats(cached.getSolverName(), target.getRows(), target.getCols(),
+                0, System.nanoTime() - begin, cached.getPath().length, true);
+        Metrics.histogram("model.solve.cached").record(stats.getNanos());
+        return new Solved(cached.getPath(), stats);
+    }
+
+    /**
+     * Runs a search with a new solver of a type, recording how long it took under the type's name.
+     */
+    private Solved timedSearch(SolverType type, MazeGrid target, int start) {
+        return timedSearch(type, createSolver(type), target, start);
+    }
+
+    /**
+     * Creates the solver handed to {@link #search} for one solve. Cancelling it must stop that solve.
+     * @param type the solver type selected
+     * @return a new instance of the type
+     */
+    protected IGridSearchingAlgorithm createSolver(SolverType type) {
+        return type.create();
+    }
+
+    /**
+     * Runs a search with a given solver, recording how long it took under the solver type's name.
+     */
+    private Solved timedSearch(SolverType type, IGridSearchingAlgorithm solver, MazeGrid target, int start) {
+        long begin = System.nanoTime();
+        Solved solved = search(type, solver, target, start);
+        Metrics.histogram("model.solve." + type.name()).recordSince(begin);
+        return solved;
+    }
+
+    /**
+     * Runs a search from a cell to the goal, measuring expanded nodes and wall time.
+     * Called on a worker thread for asynchronous solving.
+     * @param type the solver to use
+     * @param solver the solver from {@link #createSolver}, which another thread may {@link IGridSearchingAlgorithm#cancel() cancel}
+     * @param target the maze to search
+     * @param start index of the cell to search from
+     * @return the path found, with its stats
+     * @throws CancellationException if the solver was cancelled
+     */
+    protected Solved search(SolverType type, IGridSearchingAlgorithm solver, MazeGrid target, int start) {
+        long begin = System.nanoTime();
+        int[] path = solver.solve(target, start, target.getGoalIndex());
+        long nanos = System.nanoTime() - begin;
+        SolveStats stats = new SolveStats(solver.getName(), target.getRows(), target.getCols(),
+                solver.getNumberOfNodesEvaluated(), nanos, path.length, false);
+        logger.info("Solved maze: {}", stats);
+        if (solver instanceof GridRaceSearch race && race.getResult() != null) {
+            logger.info("Race result: {}", race.getResult());
+            return new Solved(path, stats, race.getResult());
+        }
+        return new Solved(path, stats);
+    }
+
+    @Override
+    public void setSolverType(SolverType type) {
+        if (type != null)
+            this.solverType = type;
+    }
+
+    @Override
+    public SolverType getSolverType() {
+        return solverType;
+    }
+
+    /**
+     * @return stats of the last installed solution, or null if nothing was solved yet
+     */
+    @Override
+    public SolveStats getLastSolveStats() {
+        return lastSolveStats;
+    }
+
+    @Override
+    public RaceResult getLastRaceResult() {
+        return lastRaceResult;
     }
 
     /**
@@ -207,19 +895,50 @@ public class MyModel extends Observable implements IModel {
     }
 
     /**
-     * @return the computed solution of the maze
+     * @return the solution from the player's cell to the goal, or null if the maze has not been solved
      */
     @Override
     public Solution getSolution() {
+        if (solution == null && activePath != null)
+            solution = CellState.toSolution(activePath.toArray(), grid.getCols());
         return solution;
     }
 
     /**
-     * @return the current maze
+     * @return the solution as cell indices (row * cols + col) from the player's cell to the goal,
+     * or null if the maze has not been solved
+     */
+    @Override
+    public int[] getSolutionPath() {
+        return activePath == null ? null : activePath.toArray();
+    }
+
+    /**
+     * @return the solution path from the player's cell, kept up to date as the player moves, or null if not solved
+     */
+    @Override
+    public ActivePath getActivePath() {
+        return activePath;
+    }
+
+    /**
+     * Mazes are kept only as bit-packed grids, so this copies the current maze out of its grid on each call,
+     * at four bytes per cell. Prefer {@link #getMazeGrid()}.
+     * @return a copy of the current maze, or null if there is none or it is a tiled maze, which exists only as a grid
      */
     @Override
     public Maze getMaze() {
-        return maze;
+        if (grid == null || grid.isLazy())
+            return null;
+        return MazeFileFormat.toMaze(grid);
+    }
+
+    /**
+     * @return the current maze packed one bit per cell
+     */
+    @Override
+    public MazeGrid getMazeGrid() {
+        return grid;
     }
 
     /**
@@ -231,49 +950,116 @@ public class MyModel extends Observable implements IModel {
     }
 
     /**
-     * Saves the maze to a given file in byte array format.
+     * Saves the maze to a given file in the bit-packed maze file format.
+     * Files named with the {@link MazeFileFormat#COMPRESSED_EXTENSION} extension use the PartB compressed encoding.
+     * A tiled maze, whose cells are generated on demand, can only be written in the bit encoding.
      * @param file the destination file
-     * @throws FileNotFoundException if the file cannot be written
+     * @throws IOException if the file cannot be written, such as when the disk is full or access is denied
      */
-    public void saveMazeToFile(File file) throws FileNotFoundException {
-        if (this.maze == null) {
+    public void saveMazeToFile(File file) throws IOException {
+        if (this.grid == null) {
             logger.error("Attempted to save null maze.");
             throw new IllegalStateException("Maze is null");
         }
-        try (FileOutputStream fos = new FileOutputStream(file)) {
-            logger.info("Saving maze to file: {}", file.getName());
-            byte[] data = maze.toByteArray();
-            fos.write(data);
-            fos.flush();
+        try {
+            MazeFileFormat.Encoding encoding = MazeFileFormat.encodingFor(file);
+            if (grid.isLazy() && encoding != MazeFileFormat.Encoding.BITS)
+                throw new UnsupportedOperationException("This maze can only be saved as a .maze file");
+            logger.info("Saving maze to file: {} ({})", file.getName(), encoding);
+            long begin = System.nanoTime();
+            MazeFileFormat.write(grid, file, encoding);
+            Metrics.histogram("model.save").recordSince(begin);
         } catch (IOException e) {
             logger.error("Error saving maze to file", e);
-            throw new RuntimeException(e);
+            throw e;
         }
     }
 
     /**
      * Loads a maze from a file and updates the player and goal positions.
+     * Both the current maze file format and the legacy raw byte format are accepted.
+     * A bit-encoded file is played straight from its memory map, without copying its cells onto the heap.
      * @param file the source file
      * @throws FileNotFoundException if the file doesn't exist
      */
     @Override
     public void loadMazeFromFile(File file) throws FileNotFoundException {
         logger.info("Loading maze from file: {}", file.getName());
-        try (FileInputStream fis = new FileInputStream(file)) {
-            byte[] bytes = fis.readAllBytes();
-            this.maze = new Maze(bytes);
-            this.playerPosition = maze.getStartPosition();
-            this.playerRow = playerPosition.getRowIndex();
-            this.playerCol = playerPosition.getColumnIndex();
-            this.endPoint = maze.getGoalPosition();
+        cancelPending();
+        try {
+            long begin = System.nanoTime();
+            useMaze(new PreparedMaze(MazeFileFormat.readGrid(file)));
+            startJournal();
+            stepCount = 0;
+            startTime = System.currentTimeMillis();
+            showVictorySequence = false;
+            Metrics.histogram("model.load").recordSince(begin);
             setChanged();
-            notifyObservers("maze loaded");
+            notifyObservers(ModelEvent.mazeLoaded());
         } catch (IOException e) {
             logger.error("Error loading maze from file", e);
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Saves the whole game: the maze, the player, the step count and time played, the solver settings,
+     * and the distance field and solution path, so that resuming needs no generation or search.
+     * @param file the destination file, replaced atomically
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void saveSession(File file) throws IOException {
+        if (grid == null) {
+            logger.error("Attempted to save a session without a maze.");
+            throw new IllegalStateException("Maze is null");
+        }
+        logger.info("Saving session to file: {}", file.getName());
+        long begin = System.nanoTime();
+        new SessionSnapshot(grid, mazeHash, mazeSeed, distanceField, activePath == null ? null : activePath.toArray(),
+                playerRow, playerCol, stepCount, System.currentTimeMillis() - startTime,
+                solverType.name(), lastUsedSolver).write(file);
+        Metrics.histogram("model.session.save").recordSince(begin);
+    }
+
+    /**
+     * Resumes a game saved with {@link #saveSession}, replacing the current one.
+     * Observers are notified that a maze was loaded, and then that it was solved if the session had a solution.
+     * @param file the session file
+     * @throws IOException if the file cannot be read or is not a session file
+     */
+    @Override
+    public void loadSession(File file) throws IOException {
+        logger.info("Resuming session from file: {}", file.getName());
+        long begin = System.nanoTime();
+        SessionSnapshot session = SessionSnapshot.read(file);
+        cancelPending();
+        useMaze(new PreparedMaze(session.grid, session.mazeHash, session.distances, session.seed));
+        playerRow = session.playerRow;
+        playerCol = session.playerCol;
+        playerPosition = new Position(playerRow, playerCol);
+        stepCount = session.stepCount;
+        startTime = System.currentTimeMillis() - session.elapsedMillis;
+        showVictorySequence = grid.index(playerRow, playerCol) == grid.getGoalIndex();
+        startJournal();
+        lastUsedSolver = session.lastUsedSolver;
+        try {
+            solverType = SolverType.valueOf(session.solverType);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Session uses unknown solver {}, keeping {}", session.solverType, solverType);
+        }
+        // The path is only trusted if it starts where the player is
+        if (session.path != null && session.path.length > 0 && session.path[0] == grid.index(playerRow, playerCol))
+            activePath = new ActivePath(grid, session.path);
+        Metrics.histogram("model.session.load").recordSince(begin);
+        setChanged();
+        notifyObservers(ModelEvent.mazeLoaded());
+        if (activePath != null) {
+            setChanged();
+            notifyObservers(ModelEvent.mazeSolved());
+        }
+    }
+
     /**
      * @return true if the player has reached the goal
      */
@@ -305,4 +1091,120 @@ public class MyModel extends Observable implements IModel {
     public String getLastUsedSolver() {
         return lastUsedSolver;
     }
+
+    /**
+     * Looks up the next step toward the goal from the player's position.
+     * Uses the distance field computed when the maze was installed, so no search runs.
+     * @return the next cell to move to, or null if there is no maze, the player is at the goal, or the goal is unreachable
+     */
+    @Override
+    public Position getNextStepHint() {
+        if (distanceField == null)
+            return null;
+        return distanceField.nextStep(playerRow, playerCol);
+    }
+
+    /**
+     * @return number of moves left from the player's position to the goal, or -1 if unknown or unreachable
+     */
+    @Override
+    public int getDistanceToGoal() {
+        if (distanceField == null)
+            return DistanceField.UNREACHABLE;
+        return distanceField.getDistance(playerRow, playerCol);
+    }
+
+    /**
+     * @return number of solve requests answered from the solution cache
+     */
+    @Override
+    public long getSolutionCacheHits() {
+        return solutionCache.getHits();
+    }
+
+    /**
+     * @return number of solve requests that needed a search
+     */
+    @Override
+    public long getSolutionCacheMisses() {
+        return solutionCache.getMisses();
+    }
+
+    /**
+     * @return the seed the current maze was generated from, or null if it was not generated from a seed
+     */
+    @Override
+    public Long getMazeSeed() {
+        return mazeSeed;
+    }
+
+    /**
+     * A solved path together with what it cost to find it.
+     */
+    protected static final class Solved {
+        private final int[] path;
+        private final SolveStats stats;
+        private final RaceResult race;
+
+        protected Solved(int[] path, SolveStats stats) {
+            this(path, stats, null);
+        }
+
+        protected Solved(int[] path, SolveStats stats, RaceResult race) {
+            this.path = path;
+            this.stats = stats;
+            this.race = race;
+        }
+    }
+
+    /**
+     * A maze together with everything derived from it once: the content hash, the bit-packed grid
+     * used by the search algorithms, and the distance field. Built on a worker for async generation.
+     * The generator's {@code Maze} is not kept once the grid is built.
+     */
+    private static final class PreparedMaze {
+        private final long hash;
+        private final MazeGrid grid;
+        private final DistanceField distances;
+        private final Long seed;
+
+        PreparedMaze(Maze maze) {
+            this(maze, null);
+        }
+
+        /**
+         * @param seed the seed the maze was generated from, or null if none
+         */
+        PreparedMaze(Maze maze, Long seed) {
+            this(BitMazeGrid.fromMaze(maze), seed);
+        }
+
+        /**
+         * A maze read from a file as a grid.
+         */
+        PreparedMaze(MazeGrid grid) {
+            this(grid, null);
+        }
+
+        /**
+         * A maze built as a grid, hashed here and given a distance field unless it is too large for one.
+         * @param seed the seed the maze was generated from, or null if none
+         */
+        PreparedMaze(MazeGrid grid, Long seed) {
+            this(grid, SolutionCache.hashGrid(grid),
+                    grid.size() <= DistanceField.MAX_CELLS ? DistanceField.compute(grid) : null, seed);
+        }
+
+        /**
+         * A maze that exists only as a grid, such as a lazily generated one or one resumed from a session.
+         * @param distances the distance field, or null if there is none
+         * @param seed the seed the maze was generated from, or null if none
+         */
+        PreparedMaze(MazeGrid grid, long hash, DistanceField distances, Long seed) {
+            this.hash = hash;
+            this.grid = grid;
+            this.distances = distances;
+            this.seed = seed;
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package Model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link MazeGrid} stored outside the Java heap, one bit per cell (1 for a wall),
+ * most significant bit first. This is the same layout as the payload of a bit-encoded
+ * {@link MazeFileFormat} file, so a memory-mapped file can be used as a grid without copying.
+ */
+public class OffHeapMazeGrid implements MazeGrid {
+
+    private final ByteBuffer bits;
+    private final int offset;
+    private final int rows;
+    private final int cols;
+    private int startIndex;
+    private int goalIndex;
+
+    private OffHeapMazeGrid(ByteBuffer bits, int offset, int rows, int cols) {
+        this.bits = bits;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Creates a grid of walls in a new direct buffer.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return the new grid
+     */
+    public static OffHeapMazeGrid allocate(int rows, int cols) {
+        if ((long) rows * cols > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Maze too large: " + rows + "x" + cols);
+        int bytes = (int) (((long) rows * cols + 7) >>> 3);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes);
+        for (int i = 0; i < bytes; i++)
+            buffer.put(i, (byte) 0xff);
+        return new OffHeapMazeGrid(buffer, 0, rows, cols);
+    }
+
+    /**
+     * Uses existing bits as a grid. The buffer must not change while the grid is in use.
+     * @param bits buffer holding the cells, for example a mapped maze file
+     * @param offset position of the first cell byte in the buffer
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param startIndex index of the start cell
+     * @param goalIndex index of the goal cell
+     * @return a grid backed by the buffer
+     */
+    public static OffHeapMazeGrid wrap(ByteBuffer bits, int offset, int rows, int cols, int startIndex, int goalIndex) {
+        OffHeapMazeGrid grid = new OffHeapMazeGrid(bits, offset, rows, cols);
+        grid.setStart(startIndex);
+        grid.setGoal(goalIndex);
+        return grid;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    @Override
+    public int getGoalIndex() {
+        return goalIndex;
+    }
+
+    @Override
+    public boolean isOpen(int index) {
+        return (bits.get(offset + (index >>> 3)) & (0x80 >>> (index & 7))) == 0;
+    }
+
+    @Override
+    public boolean isOpen(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && isOpen(row * cols + col);
+    }
+
+    /**
+     * Opens or closes a cell. Only for building the grid, before it is shared.
+     */
+    public void setOpen(int index, boolean open) {
+        int position = offset + (index >>> 3);
+        int mask = 0x80 >>> (index & 7);
+        int value = bits.get(position);
+        bits.put(position, (byte) (open ? value & ~mask : value | mask));
+    }
+
+    public void setStart(int index) {
+        this.startIndex = index;
+    }
+
+    public void setGoal(int index) {
+        this.goalIndex = index;
+    }
+}
@@ -0,0 +1,141 @@
+package Model;
+
+import algorithms.mazeGenerators.AMazeGenerator;
+import algorithms.mazeGenerators.Maze;
+import algorithms.mazeGenerators.Position;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates a perfect maze on all cores by carving square tiles of it in parallel.
+ * <p>
+ * Rooms sit on even rows and columns. Each tile is carved as a perfect maze of its own rooms on a
+ * fork-join pool; tiles share no cells, so they need no locking. The tiles are then stitched
+ * together by a random spanning tree over the grid of tiles, opening one door in the border of
+ * each pair of tiles joined by the tree. The result is again a perfect maze: every room, the start
+ * and goal included, is reachable from every other along exactly one route.
+ * <p>
+ * Each tile is carved from a seed derived from the maze seed and the tile's position, so a seed
+ * gives the same maze whatever the number of threads.
+ */
+public class ParallelMazeGenerator extends AMazeGenerator {
+
+    public static final int TILE_SIZE = 128;
+
+    // Shared by all generators; fork-join threads are daemons
+    private static final ForkJoinPool carvers = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    @Override
+    public Maze generate(int rows, int cols) {
+        return generate(rows, cols, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param seed seed the whole maze is derived from
+     * @return a maze starting at the top left room and ending at the bottom right room
+     */
+    public Maze generate(int rows, int cols, long seed) {
+        if (rows < 1 || cols < 1)
+            throw new IllegalArgumentException("Invalid maze size: " + rows + "x" + cols);
+        Maze maze = new Maze(rows, cols);
+        int tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+        int tileCols = (cols + TILE_SIZE - 1) / TILE_SIZE;
+        carvers.invoke(new CarveTiles(maze, seed, tileCols, 0, tileRows * tileCols));
+        openDoors(maze, seed, tileRows, tileCols);
+        maze.setStartPosition(new Position(0, 0));
+        maze.setGoalPosition(new Position((rows - 1) & ~1, (cols - 1) & ~1));
+        return maze;
+    }
+
+    /**
+     * Fills one tile with walls and carves its rooms.
+     */
+    private static void carveTile(Maze maze, long seed, int tileRow, int tileCol) {
+        int top = tileRow * TILE_SIZE;
+        int left = tileCol * TILE_SIZE;
+        int height = Math.min(TILE_SIZE, maze.getRows() - top);
+        int width = Math.min(TILE_SIZE, maze.getCols() - left);
+        for (int row = 0; row < height; row++)
+            for (int col = 0; col < width; col++)
+                maze.setCell(top + row, left + col, 1);
+        RoomCarver.carve((height + 1) / 2, (width + 1) / 2, new SplittableRandom(RoomCarver.mix(seed, tileRow, tileCol, -1)),
+                (row, col) -> maze.setCell(top + row, left + col, 0));
+    }
+
+    /**
+     * Joins the tiles along a random spanning tree, found by a depth-first search over the tiles,
+     * with one door for each edge of the tree. The door is the wall cell on the last row or column
+     * of the upper or left tile, facing a random room.
+     */
+    private static void openDoors(Maze maze, long seed, int tileRows, int tileCols) {
+        SplittableRandom random = new SplittableRandom(RoomCarver.mix(seed, tileRows, tileCols, -2));
+        boolean[] visited = new boolean[tileRows * tileCols];
+        int[] stack = new int[tileRows * tileCols];
+        int[] choices = new int[4];
+        int depth = 0;
+        stack[depth++] = 0;
+        visited[0] = true;
+        while (depth > 0) {
+            int tile = stack[depth - 1];
+            int tileRow = tile / tileCols;
+            int tileCol = tile % tileCols;
+            int count = 0;
+            if (tileRow > 0 && !visited[tile - tileCols]) choices[count++] = tile - tileCols;
+            if (tileRow + 1 < tileRows && !visited[tile + tileCols]) choices[count++] = tile + tileCols;
+            if (tileCol > 0 && !visited[tile - 1]) choices[count++] = tile - 1;
+            if (tileCol + 1 < tileCols && !visited[tile + 1]) choices[count++] = tile + 1;
+            if (count == 0) {
+                depth--;
+                continue;
+            }
+            int next = choices[random.nextInt(count)];
+            int upperLeft = Math.min(tile, next);
+            int row = upperLeft / tileCols * TILE_SIZE;
+            int col = upperLeft % tileCols * TILE_SIZE;
+            if (next / tileCols != tileRow) {
+                int width = Math.min(TILE_SIZE, maze.getCols() - col);
+                maze.setCell(row + TILE_SIZE - 1, col + 2 * random.nextInt((width + 1) / 2), 0);
+            } else {
+                int height = Math.min(TILE_SIZE, maze.getRows() - row);
+                maze.setCell(row + 2 * random.nextInt((height + 1) / 2), col + TILE_SIZE - 1, 0);
+            }
+            visited[next] = true;
+            stack[depth++] = next;
+        }
+    }
+
+    /**
+     * Carves a range of tiles, numbered row by row, splitting the range until each task has one tile.
+     */
+    private static final class CarveTiles extends RecursiveAction {
+        private final Maze maze;
+        private final long seed;
+        private final int tileCols;
+        private final int from;
+        private final int to;
+
+        CarveTiles(Maze maze, long seed, int tileCols, int from, int to) {
+            this.maze = maze;
+            this.seed = seed;
+            this.tileCols = tileCols;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                carveTile(maze, seed, from / tileCols, from % tileCols);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CarveTiles(maze, seed, tileCols, from, middle),
+                    new CarveTiles(maze, seed, tileCols, middle, to));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package Model;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a solver race: who won, on how large a maze, and how the other entrants fared.
+ */
+public final class RaceResult {
+
+    /**
+     * How one entrant's run ended.
+     */
+    public static final class Entrant {
+        private final String solverName;
+        private final long nanos;
+        private final int nodesEvaluated;
+        private final boolean finished;
+
+        Entrant(String solverName, long nanos, int nodesEvaluated, boolean finished) {
+            this.solverName = solverName;
+            this.nanos = nanos;
+            this.nodesEvaluated = nodesEvaluated;
+            this.finished = finished;
+        }
+
+        public String getSolverName() {
+            return solverName;
+        }
+
+        /**
+         * @return time from the start of the race until this entrant finished or stopped
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        public int getNodesEvaluated() {
+            return nodesEvaluated;
+        }
+
+        /**
+         * @return true if the entrant completed its search, false if it was cancelled or failed
+         */
+        public boolean isFinished() {
+            return finished;
+        }
+    }
+
+    private final int rows;
+    private final int cols;
+    private final Entrant winner;
+    private final List<Entrant> losers;
+
+    RaceResult(int rows, int cols, Entrant winner, List<Entrant> losers) {
+        this.rows = rows;
+        this.cols = cols;
+        this.winner = winner;
+        this.losers = List.copyOf(losers);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public Entrant getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return the other entrants, in the order they stopped
+     */
+    public List<Entrant> getLosers() {
+        return losers;
+    }
+
+    /**
+     * @return the first loser that completed its search anyway, or null if all were cancelled in time
+     */
+    public Entrant getRunnerUp() {
+        for (Entrant loser : losers) {
+            if (loser.isFinished())
+                return loser;
+        }
+        return null;
+    }
+
+    /**
+     * @return how long after the winner the runner-up finished, or -1 if every other entrant was cancelled
+     */
+    public long getMarginNanos() {
+        Entrant runnerUp = getRunnerUp();
+        return runnerUp == null ? -1 : runnerUp.getNanos() - winner.getNanos();
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format(Locale.ROOT, "%s won on %dx%d in %.2f ms", winner.getSolverName(), rows, cols,
+                winner.getNanos() / 1_000_000.0);
+        Entrant runnerUp = getRunnerUp();
+        if (runnerUp != null)
+            return summary + String.format(Locale.ROOT, ", %.2f ms ahead of %s", getMarginNanos() / 1_000_000.0,
+                    runnerUp.getSolverName());
+        return summary + ", " + losers.size() + " others cancelled";
+    }
+}
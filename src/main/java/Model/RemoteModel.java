@@ -0,0 +1,132 @@
+package Model;
+
+import algorithms.mazeGenerators.Maze;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.InetAddress;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A model that generates and solves mazes on a {@link MazeServer} instead of in this process.
+ * Heavy searches then run in the server's JVM, on its own heap and thread pool.
+ * When the server cannot be reached or fails a request, the work is done in process as {@link MyModel} would.
+ */
+public class RemoteModel extends MyModel {
+
+    private static final Logger logger = LogManager.getLogger(RemoteModel.class);
+    private static final long REQUEST_TIMEOUT_SECONDS = 60;
+
+    private final MazeServiceClient client;
+
+    /**
+     * @param host address of the maze server
+     * @param port port of the maze server
+     */
+    public RemoteModel(InetAddress host, int port) {
+        this.client = new MazeServiceClient(host, port);
+    }
+
+    @Override
+    protected Maze generate(int rows, int cols) {
+        try {
+            return client.generate(rows, cols).get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Maze server could not generate the maze, generating in process: {}", describe(e));
+        }
+        return super.generate(rows, cols);
+    }
+
+    @Override
+    protected IGridSearchingAlgorithm createSolver(SolverType type) {
+        return new RemoteSolver(super.createSolver(type));
+    }
+
+    /**
+     * Solves on the server. A cancelled solve stops waiting for the server's reply at once and is not
+     * solved in process afterwards.
+     */
+    @Override
+    protected Solved search(SolverType type, IGridSearchingAlgorithm solver, MazeGrid target, int start) {
+        RemoteSolver remote = solver instanceof RemoteSolver wrapper ? wrapper : new RemoteSolver(solver);
+        CompletableFuture<MazeServiceClient.SolveReply> request = client.solve(type, target, start);
+        remote.track(request);
+        try {
+            MazeServiceClient.SolveReply reply = request.get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            logger.info("Solved maze on the server: {}", reply.getStats());
+            return new Solved(reply.getPath(), reply.getStats());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // The reply, if it ever comes, is dropped
+            request.cancel(false);
+            if (!remote.isCancelled())
+                logger.warn("Maze server could not solve the maze, solving in process: {}", describe(e));
+        }
+        if (remote.isCancelled())
+            throw new CancellationException("Remote solve cancelled");
+        return super.search(type, remote.local, target, start);
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        return String.valueOf(cause.getMessage());
+    }
+
+    /**
+     * A solver whose solve may run on the server. Cancelling it cancels the pending request, which wakes
+     * the thread waiting for the reply, and stops the in-process solver if the solve fell back to it.
+     */
+    private static final class RemoteSolver implements IGridSearchingAlgorithm {
+        private final IGridSearchingAlgorithm local;
+        private volatile CompletableFuture<?> request;
+        private volatile boolean cancelled;
+
+        RemoteSolver(IGridSearchingAlgorithm local) {
+            this.local = local;
+        }
+
+        /**
+         * Makes a request the one cancelled with this solver, cancelling it at once if this solver already was.
+         */
+        void track(CompletableFuture<?> pending) {
+            request = pending;
+            if (cancelled)
+                pending.cancel(false);
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public int[] solve(MazeGrid grid, int start, int goal) {
+            return local.solve(grid, start, goal);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            local.cancel();
+            CompletableFuture<?> pending = request;
+            if (pending != null)
+                pending.cancel(false);
+        }
+
+        @Override
+        public String getName() {
+            return local.getName();
+        }
+
+        @Override
+        public int getNumberOfNodesEvaluated() {
+            return local.getNumberOfNodesEvaluated();
+        }
+    }
+}
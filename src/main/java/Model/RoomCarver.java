@@ -0,0 +1,76 @@
+package Model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Carves a perfect maze over a rectangle of rooms, shared by the generators that build a maze
+ * out of independently carved pieces.
+ * <p>
+ * Rooms sit on even rows and columns of the piece; the odd cells between two rooms are the walls
+ * that carving opens. The piece's own cells are addressed from 0, and the caller maps them to
+ * wherever the piece sits in the maze.
+ */
+final class RoomCarver {
+
+    /**
+     * Receives the cells opened by carving.
+     */
+    interface Opener {
+        void open(int row, int col);
+    }
+
+    private RoomCarver() {
+    }
+
+    /**
+     * Carves a perfect maze with an iterative depth-first search, so every room of the piece is
+     * reachable from every other along exactly one route.
+     * @param roomRows number of rooms down the piece
+     * @param roomCols number of rooms across the piece
+     * @param random source of the random choices; the same sequence carves the same maze
+     * @param opener called for every cell opened, rooms and the walls between them
+     */
+    static void carve(int roomRows, int roomCols, SplittableRandom random, Opener opener) {
+        boolean[] visited = new boolean[roomRows * roomCols];
+        int[] stack = new int[roomRows * roomCols];
+        int[] choices = new int[4];
+        int depth = 0;
+        stack[depth++] = 0;
+        visited[0] = true;
+        opener.open(0, 0);
+        while (depth > 0) {
+            int room = stack[depth - 1];
+            int roomRow = room / roomCols;
+            int roomCol = room % roomCols;
+            int count = 0;
+            if (roomRow > 0 && !visited[room - roomCols]) choices[count++] = room - roomCols;
+            if (roomRow + 1 < roomRows && !visited[room + roomCols]) choices[count++] = room + roomCols;
+            if (roomCol > 0 && !visited[room - 1]) choices[count++] = room - 1;
+            if (roomCol + 1 < roomCols && !visited[room + 1]) choices[count++] = room + 1;
+            if (count == 0) {
+                depth--;
+                continue;
+            }
+            int next = choices[random.nextInt(count)];
+            int nextRow = next / roomCols;
+            int nextCol = next % roomCols;
+            // The cell between the two rooms, then the room itself
+            opener.open(roomRow + nextRow, roomCol + nextCol);
+            opener.open(2 * nextRow, 2 * nextCol);
+            visited[next] = true;
+            stack[depth++] = next;
+        }
+    }
+
+    /**
+     * Mixes a seed with the position of a piece into a well-spread seed for that piece.
+     * @param salt distinguishes several values derived for the same piece
+     */
+    static long mix(long seed, int pieceRow, int pieceCol, int salt) {
+        long h = seed ^ (0x9E3779B97F4A7C15L * (((long) pieceRow << 32) ^ (pieceCol & 0xFFFFFFFFL)));
+        h ^= salt * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
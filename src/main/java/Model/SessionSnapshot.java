@@ -0,0 +1,228 @@
+package Model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Everything needed to resume a game where it was left: the maze, the player, the step count and
+ * clock, the solver settings, and whatever was already computed for the maze, so that resuming does
+ * not generate or solve anything.
+ * <p>
+ * Layout of a version 1 session file (all numbers big-endian):
+ * <pre>
+ *  0  int    magic "MZSS"
+ *  4  short  version
+ *  6  short  flags (1 = tiled maze, 2 = distance field, 4 = solution path, 8 = seed)
+ *  8  int    player row, player column, step count
+ * 20  long   elapsed milliseconds, seed, maze hash
+ * 44  UTF    solver type, name of the last solver used
+ *     then for a tiled maze: int rows, int columns
+ *     otherwise the maze as a bit-encoded {@link MazeFileFormat} file
+ *     int[rows * columns]  distance field, if flagged
+ *     int length, int[length]  solution path from the player's cell, if flagged
+ * </pre>
+ * A tiled maze is stored as its seed and size, as its tiles can be generated again identically.
+ * <p>
+ * Sessions are written to a temporary file that then replaces the target atomically, so a crash while
+ * saving leaves the previous session intact. They are read through a single memory map: the maze is
+ * used straight from the map without copying, and the distance field is copied out in one bulk read.
+ */
+public final class SessionSnapshot {
+
+    public static final int MAGIC = 0x4D5A5353; // "MZSS"
+    public static final short VERSION = 1;
+
+    /**
+     * File name extension of session files.
+     */
+    public static final String EXTENSION = ".mzs";
+
+    private static final int TILED = 1;
+    private static final int DISTANCES = 2;
+    private static final int PATH = 4;
+    private static final int SEED = 8;
+
+    final MazeGrid grid;
+    final long mazeHash;
+    final Long seed;
+    final DistanceField distances;
+    final int[] path;
+    final int playerRow;
+    final int playerCol;
+    final int stepCount;
+    final long elapsedMillis;
+    final String solverType;
+    final String lastUsedSolver;
+
+    /**
+     * @param grid the maze
+     * @param mazeHash content hash of the maze, the key of its cached solutions
+     * @param seed seed the maze was generated from, or null
+     * @param distances distance field of the maze, or null if there is none
+     * @param path solution path from the player's cell to the goal, or null if there is none
+     * @param elapsedMillis time played so far
+     * @param solverType name of the selected {@link SolverType}
+     * @param lastUsedSolver name of the solver that found the last solution
+     */
+    SessionSnapshot(MazeGrid grid, long mazeHash, Long seed, DistanceField distances, int[] path,
+                    int playerRow, int playerCol, int stepCount, long elapsedMillis,
+                    String solverType, String lastUsedSolver) {
+        this.grid = grid;
+        this.mazeHash = mazeHash;
+        this.seed = seed;
+        this.distances = distances;
+        this.path = path;
+        this.playerRow = playerRow;
+        this.playerCol = playerCol;
+        this.stepCount = stepCount;
+        this.elapsedMillis = elapsedMillis;
+        this.solverType = solverType;
+        this.lastUsedSolver = lastUsedSolver;
+    }
+
+    /**
+     * Writes the session, replacing the file atomically.
+     * @param file destination file, its directory created if missing
+     * @throws IOException if the file cannot be written; the previous file, if any, is then unchanged
+     */
+    void write(File file) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeTo(DataOutputStream out) throws IOException {
+        boolean tiled = grid instanceof TiledMazeGrid;
+        int flags = (tiled ? TILED : 0) | (distances != null ? DISTANCES : 0)
+                | (path != null ? PATH : 0) | (seed != null ? SEED : 0);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(flags);
+        out.writeInt(playerRow);
+        out.writeInt(playerCol);
+        out.writeInt(stepCount);
+        out.writeLong(elapsedMillis);
+        out.writeLong(seed != null ? seed : 0);
+        out.writeLong(mazeHash);
+        out.writeUTF(solverType);
+        out.writeUTF(lastUsedSolver);
+        if (tiled) {
+            out.writeInt(grid.getRows());
+            out.writeInt(grid.getCols());
+        } else {
+            MazeFileFormat.writeGrid(out, grid);
+        }
+        if (distances != null) {
+            int cells = grid.size();
+            for (int i = 0; i < cells; i++)
+                out.writeInt(distances.getDistance(i));
+        }
+        if (path != null) {
+            out.writeInt(path.length);
+            for (int cell : path)
+                out.writeInt(cell);
+        }
+    }
+
+    /**
+     * Reads a session file.
+     * @param file the file to read
+     * @return the session stored in the file
+     * @throws IOException if the file cannot be read or is not a session file, or if the player is not on
+     * an open cell or the solution path leaves the maze
+     */
+    static SessionSnapshot read(File file) throws IOException {
+        String source = file.getName();
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Session file too large: " + source);
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return read(buffer, source);
+        } catch (RuntimeException e) {
+            // Reading past the end of a truncated file, or a malformed name
+            throw new IOException("Corrupt session file: " + source, e);
+        }
+    }
+
+    private static SessionSnapshot read(ByteBuffer buffer, String source) throws IOException {
+        if (buffer.limit() < 44 || buffer.getInt() != MAGIC)
+            throw new IOException("Not a session file: " + source);
+        short version = buffer.getShort();
+        if (version > VERSION)
+            throw new IOException("Session file " + source + " has unsupported version " + version);
+        int flags = buffer.getShort();
+        int playerRow = buffer.getInt();
+        int playerCol = buffer.getInt();
+        int stepCount = buffer.getInt();
+        long elapsedMillis = buffer.getLong();
+        long seed = buffer.getLong();
+        long mazeHash = buffer.getLong();
+        String solverType = readUTF(buffer);
+        String lastUsedSolver = readUTF(buffer);
+
+        MazeGrid grid;
+        if ((flags & TILED) != 0) {
+            TiledMazeGrid tiled = new TiledMazeGrid(buffer.getInt(), buffer.getInt(), seed);
+            mazeHash = tiled.getContentHash();
+            grid = tiled;
+        } else {
+            int start = buffer.position();
+            int rows = buffer.getInt(start + 8);
+            int cols = buffer.getInt(start + 12);
+            int length = MazeFileFormat.HEADER_BYTES + (int) (((long) rows * cols + 7) / 8);
+            grid = MazeFileFormat.readGrid(buffer.slice(start, length), source);
+            buffer.position(start + length);
+        }
+        if (!grid.isOpen(playerRow, playerCol))
+            throw new IOException("Corrupt session file: " + source);
+
+        DistanceField distances = null;
+        if ((flags & DISTANCES) != 0) {
+            int[] cells = new int[grid.size()];
+            buffer.asIntBuffer().get(cells);
+            buffer.position(buffer.position() + cells.length * Integer.BYTES);
+            distances = new DistanceField(grid.getRows(), grid.getCols(), cells);
+        }
+        int[] path = null;
+        if ((flags & PATH) != 0) {
+            path = new int[buffer.getInt()];
+            buffer.asIntBuffer().get(path);
+            int cells = grid.size();
+            for (int cell : path) {
+                if (cell < 0 || cell >= cells)
+                    throw new IOException("Corrupt session file: " + source);
+            }
+        }
+        return new SessionSnapshot(grid, mazeHash, (flags & SEED) != 0 ? seed : null, distances, path,
+                playerRow, playerCol, stepCount, elapsedMillis, solverType, lastUsedSolver);
+    }
+
+    /**
+     * Reads a string written by {@link DataOutputStream#writeUTF}, advancing the buffer past it.
+     */
+    private static String readUTF(ByteBuffer buffer) throws IOException {
+        int length = buffer.getShort() & 0xffff;
+        byte[] encoded = new byte[2 + length];
+        encoded[0] = (byte) (length >>> 8);
+        encoded[1] = (byte) length;
+        buffer.get(encoded, 2, length);
+        return new DataInputStream(new ByteArrayInputStream(encoded)).readUTF();
+    }
+}
@@ -0,0 +1,214 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of maze solutions, keyed by maze content hash and start cell.
+ * A lookup that misses the exact key can still be answered from a cached path
+ * of the same maze that passes through the requested cell: the remainder of that
+ * path leads to the goal, so its suffix is returned without searching.
+ */
+public class SolutionCache {
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    // 64-bit FNV-1a parameters
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Entry> entries;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Creates a cache holding up to {@link #DEFAULT_CAPACITY} solutions.
+     */
+    public SolutionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of solutions kept before the least recently used is evicted
+     */
+    public SolutionCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Computes a 64-bit content hash (FNV-1a) of a serialized maze.
+     * @param mazeBytes the output of {@code Maze.toByteArray()}
+     * @return the hash used as the maze part of cache keys
+     */
+    public static long hashMaze(byte[] mazeBytes) {
+        long hash = FNV_OFFSET;
+        for (byte b : mazeBytes)
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        return hash;
+    }
+
+    /**
+     * Computes the same hash as {@link #hashMaze} straight from a grid, without serializing it.
+     * A maze therefore hashes the same whether it was generated, loaded from a file or resumed.
+     * @param grid the maze
+     * @return the hash {@code hashMaze} gives for the maze's {@code Maze.toByteArray()} output
+     */
+    public static long hashGrid(MazeGrid grid) {
+        int cols = grid.getCols();
+        int start = grid.getStartIndex();
+        int goal = grid.getGoalIndex();
+        long hash = FNV_OFFSET;
+        // The 12-byte header of Maze.toByteArray(): six big-endian shorts
+        for (int value : new int[]{grid.getRows(), cols, start / cols, start % cols, goal / cols, goal % cols}) {
+            hash = (hash ^ ((value >>> 8) & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+        }
+        int cells = grid.size();
+        for (int i = 0; i < cells; i++)
+            hash = (hash ^ (grid.isOpen(i) ? 0 : 1)) * FNV_PRIME;
+        return hash;
+    }
+
+    /**
+     * Looks up a solution from the given cell of the given maze.
+     * @param mazeHash content hash of the maze
+     * @param start index of the start cell
+     * @return the cached result, or null on a miss
+     */
+    public synchronized Result get(long mazeHash, int start) {
+        Entry exact = entries.get(new Key(mazeHash, start));
+        if (exact != null) {
+            hits++;
+            return new Result(exact.path, exact.solverName);
+        }
+
+        for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+            if (candidate.getKey().mazeHash != mazeHash)
+                continue;
+            int index = candidate.getValue().indexOf(start);
+            if (index >= 0) {
+                hits++;
+                // touch the entry so it stays recently used
+                entries.get(candidate.getKey());
+                return new Result(candidate.getValue().suffix(index), candidate.getValue().solverName);
+            }
+        }
+
+        misses++;
+        return null;
+    }
+
+    /**
+     * Stores a freshly computed solution.
+     * @param mazeHash content hash of the maze
+     * @param start index of the start cell
+     * @param path the cell indices found from the start cell to the goal
+     * @param solverName name of the algorithm that produced it
+     */
+    public synchronized void put(long mazeHash, int start, int[] path, String solverName) {
+        if (path == null || path.length == 0)
+            return;
+        entries.put(new Key(mazeHash, start), new Entry(path, solverName));
+    }
+
+    /**
+     * Removes every cached solution. Counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * A cache answer: the path and the algorithm that originally produced it.
+     */
+    public static final class Result {
+        private final int[] path;
+        private final String solverName;
+
+        Result(int[] path, String solverName) {
+            this.path = path;
+            this.solverName = solverName;
+        }
+
+        /**
+         * @return cell indices from the requested start cell to the goal. Callers must not modify the array.
+         */
+        public int[] getPath() {
+            return path;
+        }
+
+        public String getSolverName() {
+            return solverName;
+        }
+    }
+
+    /**
+     * Cache key: maze content hash plus start cell index.
+     */
+    private static final class Key {
+        private final long mazeHash;
+        private final int start;
+
+        Key(long mazeHash, int start) {
+            this.mazeHash = mazeHash;
+            this.start = start;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key other))
+                return false;
+            return mazeHash == other.mazeHash && start == other.start;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(mazeHash) * 31 + start;
+        }
+    }
+
+    /**
+     * A cached path of cell indices.
+     */
+    private static final class Entry {
+        private final int[] path;
+        private final String solverName;
+
+        Entry(int[] path, String solverName) {
+            this.path = path;
+            this.solverName = solverName;
+        }
+
+        int indexOf(int cell) {
+            for (int i = 0; i < path.length; i++) {
+                if (path[i] == cell)
+                    return i;
+            }
+            return -1;
+        }
+
+        int[] suffix(int from) {
+            return from == 0 ? path : Arrays.copyOfRange(path, from, path.length);
+        }
+    }
+}
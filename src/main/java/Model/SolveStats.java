@@ -0,0 +1,78 @@
+package Model;
+
+/**
+ * What a single solve cost: which algorithm ran, how many cells it expanded and how long it took.
+ * Answers served from the solution cache are reported with zero expanded cells.
+ */
+public final class SolveStats {
+
+    private final String solverName;
+    private final int rows;
+    private final int cols;
+    private final int nodesEvaluated;
+    private final long nanos;
+    private final int pathLength;
+    private final boolean cached;
+
+    public SolveStats(String solverName, int rows, int cols, int nodesEvaluated, long nanos, int pathLength, boolean cached) {
+        this.solverName = solverName;
+        this.rows = rows;
+        this.cols = cols;
+        this.nodesEvaluated = nodesEvaluated;
+        this.nanos = nanos;
+        this.pathLength = pathLength;
+        this.cached = cached;
+    }
+
+    public String getSolverName() {
+        return solverName;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return number of cells the algorithm expanded
+     */
+    public int getNodesEvaluated() {
+        return nodesEvaluated;
+    }
+
+    /**
+     * @return wall time of the solve in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMillis() {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * @return number of cells on the path, including the start and the goal
+     */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * @return true if the path came from the solution cache
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    @Override
+    public String toString() {
+        if (cached)
+            return String.format("%s (cached), path %d, %.2f ms", solverName, pathLength, getMillis());
+        return String.format("%s on %dx%d: %d nodes, path %d, %.2f ms",
+                solverName, rows, cols, nodesEvaluated, pathLength, getMillis());
+    }
+}
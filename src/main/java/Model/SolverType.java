@@ -0,0 +1,76 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The search algorithms the model can solve a maze with.
+ */
+public enum SolverType {
+    BREADTH_FIRST("Breadth-first search"),
+    DEPTH_FIRST("Depth-first search"),
+    BEST_FIRST("Best-first search"),
+    A_STAR_MANHATTAN("A* (Manhattan)"),
+    A_STAR_OCTILE("A* (Octile)"),
+    BIDIRECTIONAL_BFS("Bidirectional BFS"),
+    RACE_FIRST_PATH("Race (first path)"),
+    RACE_SHORTEST_PATH("Race (shortest path)");
+
+    private final String displayName;
+
+    SolverType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return true if the solver always finds a path with the fewest moves
+     */
+    public boolean isOptimal() {
+        return switch (this) {
+            case BREADTH_FIRST, A_STAR_OCTILE, BIDIRECTIONAL_BFS, RACE_SHORTEST_PATH -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * @return true if the solver races other solvers
+     */
+    public boolean isRace() {
+        return this == RACE_FIRST_PATH || this == RACE_SHORTEST_PATH;
+    }
+
+    /**
+     * @param optimalOnly whether to include only solvers that find shortest paths
+     * @return every solver that is not itself a race, so new solvers join races automatically,
+     * in declaration order, which is also the order races prefer on large mazes
+     */
+    public static List<SolverType> raceEntrants(boolean optimalOnly) {
+        List<SolverType> entrants = new ArrayList<>();
+        for (SolverType type : values()) {
+            if (!type.isRace() && (type.isOptimal() || !optimalOnly))
+                entrants.add(type);
+        }
+        return entrants;
+    }
+
+    /**
+     * @return a new instance of the algorithm. Instances keep per-solve counters, so each solve gets its own.
+     */
+    public IGridSearchingAlgorithm create() {
+        return switch (this) {
+            case BREADTH_FIRST -> new GridBreadthFirstSearch();
+            case DEPTH_FIRST -> new GridDepthFirstSearch();
+            case BEST_FIRST -> new GridBestFirstSearch();
+            case A_STAR_MANHATTAN -> new GridAStarSearch(GridAStarSearch.Heuristic.MANHATTAN);
+            case A_STAR_OCTILE -> new GridAStarSearch(GridAStarSearch.Heuristic.OCTILE);
+            case BIDIRECTIONAL_BFS -> new GridBidirectionalSearch();
+            case RACE_FIRST_PATH -> new GridRaceSearch("Race (first path)", raceEntrants(false));
+            case RACE_SHORTEST_PATH -> new GridRaceSearch("Race (shortest path)", raceEntrants(true));
+        };
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
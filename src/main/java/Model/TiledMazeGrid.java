@@ -0,0 +1,190 @@
+package Model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A maze that is generated lazily, one square tile at a time, as its cells are read.
+ * <p>
+ * Rooms sit on even rows and columns. Each tile is carved as a perfect maze of its own rooms,
+ * with a random generator seeded from the maze seed and the tile's position, and each tile opens
+ * one door in its right and bottom border to the next tile. A tile therefore depends only on the
+ * seed and its position: it can be generated without its neighbours and regenerated identically
+ * after being evicted. Every room is connected to every other, so the goal is always reachable.
+ * <p>
+ * Generated tiles are kept in a least-recently-used cache of bounded size, so memory depends on
+ * the cache size and not on the area of the maze. Reading is thread safe.
+ */
+public final class TiledMazeGrid implements MazeGrid {
+
+    public static final int TILE_SIZE = 64;
+    public static final int DEFAULT_CACHED_TILES = 4096;
+
+    private static final int RIGHT = 0;
+    private static final int DOWN = 1;
+    private static final LongAdder tilesGenerated = Metrics.counter("model.tiles.generated");
+
+    private final int rows;
+    private final int cols;
+    private final long seed;
+    private final int tileRows;
+    private final int tileCols;
+    private final int goalIndex;
+    private final Map<Integer, Tile> tiles;
+    // The tile read last, read without the lock; a tile is complete before it is published here
+    private volatile Tile lastTile;
+
+    /**
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param seed seed the whole maze is derived from
+     * @param maxCachedTiles number of generated tiles kept in memory, each taking 512 bytes
+     */
+    public TiledMazeGrid(int rows, int cols, long seed, int maxCachedTiles) {
+        if (rows < 1 || cols < 1)
+            throw new IllegalArgumentException("Invalid maze size: " + rows + "x" + cols);
+        if ((long) rows * cols > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Maze too large: " + rows + "x" + cols);
+        if (maxCachedTiles < 1)
+            throw new IllegalArgumentException("At least one tile must be cached");
+        this.rows = rows;
+        this.cols = cols;
+        this.seed = seed;
+        this.tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+        this.tileCols = (cols + TILE_SIZE - 1) / TILE_SIZE;
+        // The last room: the last even row and column
+        this.goalIndex = ((rows - 1) & ~1) * cols + ((cols - 1) & ~1);
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Tile> eldest) {
+                return size() > maxCachedTiles;
+            }
+        };
+        this.lastTile = tile(0);
+    }
+
+    /**
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param seed seed the whole maze is derived from
+     */
+    public TiledMazeGrid(int rows, int cols, long seed) {
+        this(rows, cols, seed, DEFAULT_CACHED_TILES);
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public int getStartIndex() {
+        return 0;
+    }
+
+    @Override
+    public int getGoalIndex() {
+        return goalIndex;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return a hash identifying this maze by its seed and size, standing in for a hash of its cells
+     */
+    public long getContentHash() {
+        return RoomCarver.mix(seed ^ TILE_SIZE, rows, cols, 2);
+    }
+
+    /**
+     * @return number of tiles currently held in memory
+     */
+    public synchronized int getCachedTileCount() {
+        return tiles.size();
+    }
+
+    @Override
+    public boolean isOpen(int index) {
+        int row = index / cols;
+        int col = index % cols;
+        int key = (row / TILE_SIZE) * tileCols + col / TILE_SIZE;
+        Tile tile = lastTile;
+        if (tile.key != key) {
+            tile = tile(key);
+            lastTile = tile;
+        }
+        return tile.isOpen(row % TILE_SIZE, col % TILE_SIZE);
+    }
+
+    @Override
+    public boolean isLazy() {
+        return true;
+    }
+
+    private synchronized Tile tile(int key) {
+        Tile tile = tiles.get(key);
+        if (tile == null) {
+            tile = generateTile(key / tileCols, key % tileCols);
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Carves one tile as a perfect maze of its own rooms, then opens its doors.
+     */
+    private Tile generateTile(int tileRow, int tileCol) {
+        int height = Math.min(TILE_SIZE, rows - tileRow * TILE_SIZE);
+        int width = Math.min(TILE_SIZE, cols - tileCol * TILE_SIZE);
+        int roomRows = (height + 1) / 2;
+        int roomCols = (width + 1) / 2;
+        Tile tile = new Tile(tileRow * tileCols + tileCol);
+        RoomCarver.carve(roomRows, roomCols, new SplittableRandom(RoomCarver.mix(seed, tileRow, tileCol, -1)), tile::open);
+
+        // Doors on the borders this tile shares with the tiles to its right and below
+        if (tileCol + 1 < tileCols)
+            tile.open(2 * doorRoom(tileRow, tileCol, RIGHT, roomRows), TILE_SIZE - 1);
+        if (tileRow + 1 < tileRows)
+            tile.open(TILE_SIZE - 1, 2 * doorRoom(tileRow, tileCol, DOWN, roomCols));
+        tilesGenerated.increment();
+        return tile;
+    }
+
+    /**
+     * @return which room along a border the door between two tiles leads to
+     */
+    private int doorRoom(int tileRow, int tileCol, int direction, int rooms) {
+        return (int) Math.floorMod(RoomCarver.mix(seed, tileRow, tileCol, direction), (long) rooms);
+    }
+
+    /**
+     * The open cells of one tile, one bit per cell. Not modified once generated.
+     */
+    private static final class Tile {
+        private final int key;
+        private final long[] open = new long[TILE_SIZE * TILE_SIZE / Long.SIZE];
+
+        Tile(int key) {
+            this.key = key;
+        }
+
+        boolean isOpen(int row, int col) {
+            int bit = row * TILE_SIZE + col;
+            return (open[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        void open(int row, int col) {
+            int bit = row * TILE_SIZE + col;
+            open[bit >>> 6] |= 1L << bit;
+        }
+    }
+}
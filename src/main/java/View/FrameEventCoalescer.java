@@ -0,0 +1,62 @@
+package View;
+
+import Model.ModelEvent;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Collects model events and hands them on at most once per animation frame.
+ * Events of the same type arriving within a frame are merged with {@link ModelEvent#coalesce},
+ * so a held-down key or a replay repaints the view once per frame instead of once per move.
+ * An event that replaces the maze drops the moves and solutions still pending for the old maze.
+ * The timer only runs while events are pending.
+ */
+public class FrameEventCoalescer extends AnimationTimer {
+
+    private final Consumer<ModelEvent> handler;
+    private final Map<ModelEvent.Type, ModelEvent> pending = new EnumMap<>(ModelEvent.Type.class);
+    private boolean scheduled;
+
+    /**
+     * @param handler called on the FX thread with each merged event, in {@link ModelEvent.Type} order
+     */
+    public FrameEventCoalescer(Consumer<ModelEvent> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Queues an event for the next frame. May be called from any thread.
+     * @param event the event to queue
+     */
+    public void post(ModelEvent event) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> post(event));
+            return;
+        }
+        if (event.replacesMaze()) {
+            pending.remove(ModelEvent.Type.PLAYER_MOVED);
+            pending.remove(ModelEvent.Type.MAZE_SOLVED);
+        }
+        pending.merge(event.getType(), event, ModelEvent::coalesce);
+        if (!scheduled) {
+            scheduled = true;
+            start();
+        }
+    }
+
+    @Override
+    public void handle(long now) {
+        stop();
+        scheduled = false;
+        List<ModelEvent> events = new ArrayList<>(pending.values());
+        pending.clear();
+        for (ModelEvent event : events)
+            handler.accept(event);
+    }
+}
@@ -1,20 +1,34 @@
 package View;
 
+import Model.MazeServiceProtocol;
+import Model.Metrics;
 import Model.MyModel;
+import Model.RemoteModel;
 import ViewModel.MyViewModel;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.scene.input.KeyEvent;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Entry point for the JavaFX Maze Game application.
  * Initializes the MVVM components, loads the FXML layout, and starts the main UI scene.
  */
 public class Main extends Application {
 
+    // How often the metrics are written to logs/metrics.txt
+    private static final long METRICS_DUMP_SECONDS = 30;
+
+    private MyModel model;
+
     /**
      * JavaFX lifecycle method - called when the application starts.
      * Sets up the Model, ViewModel, ViewController, and the scene.
@@ -30,7 +44,10 @@ public class Main extends Application {
 
 
         // Initialize the MVVM structure
-        MyModel model = new MyModel();
+        model = createModel(getParameters().getNamed().get("server"));
+        Metrics.startFileDump(Path.of("logs", "metrics.txt"), METRICS_DUMP_SECONDS, TimeUnit.SECONDS);
+        model.setJournalDirectory(Path.of("logs", "runs")); // one move journal per game
+        model.setNotificationExecutor(Platform::runLater); // background results arrive on the FX thread
         MyViewModel viewModel = new MyViewModel(model);
         MyViewController controller = loader.getController();
         controller.setViewModel(viewModel);
@@ -58,9 +75,38 @@ public class Main extends Application {
         primaryStage.show();
     }
 
+    /**
+     * JavaFX lifecycle method - called when the application exits.
+     * Writes out the moves of the current game that are still buffered.
+     */
+    @Override
+    public void stop() {
+        if (model != null)
+            model.closeMoveJournal();
+    }
+
+    /**
+     * Creates the model. With {@code --server=host[:port]} generation and solving go to a maze server.
+     * @param server the server address, or null to work in process
+     * @return the model to use
+     */
+    private static MyModel createModel(String server) {
+        if (server == null)
+            return new MyModel();
+        int colon = server.lastIndexOf(':');
+        String host = colon < 0 ? server : server.substring(0, colon);
+        try {
+            int port = colon < 0 ? MazeServiceProtocol.DEFAULT_PORT : Integer.parseInt(server.substring(colon + 1));
+            return new RemoteModel(InetAddress.getByName(host), port);
+        } catch (UnknownHostException | NumberFormatException e) {
+            System.out.println("Invalid maze server " + server + ", working in process: " + e.getMessage());
+            return new MyModel();
+        }
+    }
+
     /**
      * Launches the JavaFX application.
-     * @param args CLI arguments
+     * @param args CLI arguments, optionally {@code --server=host[:port]}
      */
     public static void main(String[] args) {
         launch(args);
@@ -0,0 +1,96 @@
+package View;
+
+import Model.MazeGrid;
+
+/**
+ * Pixel buffer for drawing the visible window of a maze with at most one pixel per cell.
+ * When cells are smaller than a pixel, each pixel samples one cell.
+ * This class only fills an int[] of ARGB pixels. It has no JavaFX dependencies, so the
+ * per-frame work can be measured headless; {@link MazeDisplayer} copies the pixels into an image.
+ */
+public class MazeBitmap {
+
+    public static final int WALL = 0xFF2E7D32;
+    public static final int PATH = 0xFFFFFFFF;
+
+    private int[] pixels = new int[0];
+    private int width;
+    private int height;
+    private int firstRow;
+    private int firstCol;
+    private int windowRows;
+    private int windowCols;
+
+    /**
+     * Fills the pixel buffer with the maze cells currently visible through the camera.
+     * The buffer is only reallocated when its size changes.
+     * @param maze the maze to sample
+     * @param camera the camera giving the visible window
+     * @param viewWidth width of the area drawn into, in pixels
+     * @param viewHeight height of the area drawn into, in pixels
+     * @return false if no cell is visible and nothing was filled
+     */
+    public boolean render(MazeGrid maze, MazeCamera camera, double viewWidth, double viewHeight) {
+        firstRow = camera.getFirstVisibleRow();
+        firstCol = camera.getFirstVisibleCol();
+        windowRows = camera.getEndVisibleRow() - firstRow;
+        windowCols = camera.getEndVisibleCol() - firstCol;
+        if (windowRows <= 0 || windowCols <= 0)
+            return false;
+
+        int newWidth = (int) Math.min(windowCols, Math.max(1, Math.ceil(viewWidth)));
+        int newHeight = (int) Math.min(windowRows, Math.max(1, Math.ceil(viewHeight)));
+        if (newWidth != width || newHeight != height) {
+            width = newWidth;
+            height = newHeight;
+            pixels = new int[width * height];
+        }
+
+        for (int y = 0; y < height; y++) {
+            int rowStart = (firstRow + (int) ((long) y * windowRows / height)) * maze.getCols();
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                int col = firstCol + (int) ((long) x * windowCols / width);
+                pixels[offset + x] = maze.isOpen(rowStart + col) ? PATH : WALL;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the ARGB pixels of the last render, row by row, {@link #getWidth()} pixels per row
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getFirstRow() {
+        return firstRow;
+    }
+
+    public int getFirstCol() {
+        return firstCol;
+    }
+
+    /**
+     * @return number of maze rows covered by the last render
+     */
+    public int getWindowRows() {
+        return windowRows;
+    }
+
+    /**
+     * @return number of maze columns covered by the last render
+     */
+    public int getWindowCols() {
+        return windowCols;
+    }
+}
@@ -0,0 +1,214 @@
+package View;
+
+/**
+ * Maps maze cells to canvas pixels for a zoomable, pannable view of the maze.
+ * At zoom 1 the whole maze fits the view, which is how the maze was always drawn;
+ * larger zoom values show a smaller window of larger cells.
+ * The camera itself has no JavaFX dependencies so it can be exercised headless.
+ */
+public class MazeCamera {
+
+    public static final double MIN_ZOOM = 1.0;
+
+    // Zooming in never shows fewer cells than this across the smaller maze dimension
+    private static final int MIN_VISIBLE_CELLS = 4;
+
+    // Following keeps the player inside this fraction of the view before recentering
+    private static final double FOLLOW_MARGIN = 0.2;
+
+    private int rows;
+    private int cols;
+    private double viewWidth;
+    private double viewHeight;
+
+    private double zoom = MIN_ZOOM;
+    // Lowest zoom for the current maze; above MIN_ZOOM when the view may not show the whole maze
+    private double minZoom = MIN_ZOOM;
+    // Top-left corner of the view, in (fractional) cell coordinates
+    private double originRow;
+    private double originCol;
+
+    /**
+     * Resets the camera to show the whole of a new maze.
+     * @param rows number of maze rows
+     * @param cols number of maze columns
+     */
+    public void setMaze(int rows, int cols) {
+        setMaze(rows, cols, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Resets the camera to the top-left corner of a new maze, showing at most a given number of cells
+     * across. Zooming out stops there, so a maze whose cells are generated on demand is never drawn whole.
+     * @param rows number of maze rows
+     * @param cols number of maze columns
+     * @param maxVisibleCells most rows or columns the view may show
+     */
+    public void setMaze(int rows, int cols, int maxVisibleCells) {
+        this.rows = rows;
+        this.cols = cols;
+        this.minZoom = Math.max(MIN_ZOOM, (double) Math.max(rows, cols) / maxVisibleCells);
+        this.zoom = minZoom;
+        this.originRow = 0;
+        this.originCol = 0;
+    }
+
+    /**
+     * Updates the size of the area the maze is drawn into.
+     * @param width view width in pixels
+     * @param height view height in pixels
+     */
+    public void setViewSize(double width, double height) {
+        this.viewWidth = width;
+        this.viewHeight = height;
+        clamp();
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    /**
+     * @return the largest zoom allowed for the current maze
+     */
+    public double getMaxZoom() {
+        return Math.max(minZoom, (double) Math.min(rows, cols) / MIN_VISIBLE_CELLS);
+    }
+
+    public double getCellWidth() {
+        return cols == 0 ? 0 : viewWidth / cols * zoom;
+    }
+
+    public double getCellHeight() {
+        return rows == 0 ? 0 : viewHeight / rows * zoom;
+    }
+
+    /**
+     * @return number of (possibly partial) columns that fit in the view
+     */
+    public double getVisibleCols() {
+        return cols / zoom;
+    }
+
+    /**
+     * @return number of (possibly partial) rows that fit in the view
+     */
+    public double getVisibleRows() {
+        return rows / zoom;
+    }
+
+    public int getFirstVisibleRow() {
+        return Math.max(0, (int) Math.floor(originRow));
+    }
+
+    public int getFirstVisibleCol() {
+        return Math.max(0, (int) Math.floor(originCol));
+    }
+
+    /**
+     * @return the row after the last visible row (exclusive bound)
+     */
+    public int getEndVisibleRow() {
+        return Math.min(rows, (int) Math.ceil(originRow + getVisibleRows()));
+    }
+
+    /**
+     * @return the column after the last visible column (exclusive bound)
+     */
+    public int getEndVisibleCol() {
+        return Math.min(cols, (int) Math.ceil(originCol + getVisibleCols()));
+    }
+
+    /**
+     * @return the x pixel coordinate of the left edge of a column
+     */
+    public double toX(double col) {
+        return (col - originCol) * getCellWidth();
+    }
+
+    /**
+     * @return the y pixel coordinate of the top edge of a row
+     */
+    public double toY(double row) {
+        return (row - originRow) * getCellHeight();
+    }
+
+    /**
+     * @return true if any part of the cell is inside the view
+     */
+    public boolean isVisible(int row, int col) {
+        return row >= getFirstVisibleRow() && row < getEndVisibleRow()
+                && col >= getFirstVisibleCol() && col < getEndVisibleCol();
+    }
+
+    /**
+     * Multiplies the zoom, keeping the maze point under (x, y) in place.
+     * @param factor zoom multiplier, above 1 to zoom in
+     * @param x anchor x in pixels
+     * @param y anchor y in pixels
+     * @return true if the view changed
+     */
+    public boolean zoomAt(double factor, double x, double y) {
+        double newZoom = Math.max(minZoom, Math.min(getMaxZoom(), zoom * factor));
+        if (newZoom == zoom)
+            return false;
+
+        double anchorCol = originCol + x / getCellWidth();
+        double anchorRow = originRow + y / getCellHeight();
+        zoom = newZoom;
+        originCol = anchorCol - x / getCellWidth();
+        originRow = anchorRow - y / getCellHeight();
+        clamp();
+        return true;
+    }
+
+    /**
+     * Moves the view by a pixel offset, as when dragging the maze.
+     * @param dx horizontal drag in pixels
+     * @param dy vertical drag in pixels
+     * @return true if the view changed
+     */
+    public boolean panBy(double dx, double dy) {
+        double oldRow = originRow;
+        double oldCol = originCol;
+        originCol -= dx / getCellWidth();
+        originRow -= dy / getCellHeight();
+        clamp();
+        return oldRow != originRow || oldCol != originCol;
+    }
+
+    /**
+     * Centers the view on a cell.
+     * @return true if the view changed
+     */
+    public boolean centerOn(int row, int col) {
+        double oldRow = originRow;
+        double oldCol = originCol;
+        originRow = row + 0.5 - getVisibleRows() / 2;
+        originCol = col + 0.5 - getVisibleCols() / 2;
+        clamp();
+        return oldRow != originRow || oldCol != originCol;
+    }
+
+    /**
+     * Recenters the view on a cell only if it got close to the edge of the view.
+     * Recentering in jumps rather than on every step keeps most moves from
+     * invalidating the static maze layer.
+     * @return true if the view changed
+     */
+    public boolean follow(int row, int col) {
+        double marginRows = getVisibleRows() * FOLLOW_MARGIN;
+        double marginCols = getVisibleCols() * FOLLOW_MARGIN;
+        boolean inside = row >= originRow + marginRows && row + 1 <= originRow + getVisibleRows() - marginRows
+                && col >= originCol + marginCols && col + 1 <= originCol + getVisibleCols() - marginCols;
+        return !inside && centerOn(row, col);
+    }
+
+    /**
+     * Keeps the view inside the maze bounds.
+     */
+    private void clamp() {
+        originRow = Math.max(0, Math.min(originRow, rows - getVisibleRows()));
+        originCol = Math.max(0, Math.min(originCol, cols - getVisibleCols()));
+    }
+}
@@ -1,29 +1,47 @@
 package View;
 
-import algorithms.mazeGenerators.Maze;
+import Model.ActivePath;
+import Model.LatencyHistogram;
+import Model.MazeGrid;
+import Model.Metrics;
 import algorithms.mazeGenerators.Position;
-import algorithms.search.AState;
-import algorithms.search.Solution;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.shape.StrokeLineJoin;
 
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * A custom JavaFX Canvas responsible for visually rendering a maze,
+ * A custom JavaFX component responsible for visually rendering a maze,
  * including the player, walls, background, solution path, goal, and next step hint.
+ * Rendering is split into three stacked canvases:
+ * a static maze layer painted once per maze, resize or camera move, a solution overlay,
+ * and a sprite layer where only the cells that changed are repainted.
+ * A {@link MazeCamera} provides zoom and pan; only the visible window of cells is drawn,
+ * and once cells shrink below a few pixels the maze layer is drawn as a bitmap
+ * with one pixel per cell instead of one image per cell.
  */
-public class MazeDisplayer extends Canvas {
-
-    private Maze maze;
-    private Solution solution;
-    private Maze currentMaze;
+public class MazeDisplayer extends Pane {
+
+    private MazeGrid maze;
+    // Solution path from the player's cell, kept current by the model
+    private ActivePath solution;
+    // Length and repair count of the solution when the solution layer was last fully painted
+    private int paintedPathSize;
+    private int paintedPathRepairs;
+    // Widest solution line; the line narrows to the cell size when zoomed out
+    private static final double SOLUTION_LINE_WIDTH = 5.0;
+    private static final Color SOLUTION_COLOR = new Color(1.0, 1.0, 0.0, 0.6);
+    // Beyond this many steps walked since the last paint, repainting the solution layer is cheaper
+    private static final int MAX_WALKED_REPAINT = 256;
     private int rows;
     private int cols;
 
@@ -37,33 +55,113 @@ public class MazeDisplayer extends Canvas {
 
     // Next step hint (used for solution preview)
     private Position nextStepPosition;
-    private Image nextStepImage;
+
+    // Rendering layers, bottom to top
+    private final Canvas mazeLayer = new Canvas();
+    private final Canvas solutionLayer = new Canvas();
+    private final Canvas spriteLayer = new Canvas();
+
+    // Zoom and pan, and the cell size the layers were last painted with
+    private final MazeCamera camera = new MazeCamera();
+    private double cellWidth;
+    private double cellHeight;
+
+    // Most rows or columns shown at once of a lazily generated maze
+    private static final int LAZY_VISIBLE_CELLS = 512;
+
+    // Below this cell size (in pixels) the maze layer is drawn as a bitmap
+    private static final double BITMAP_CELL_SIZE = 4.0;
+    // Smallest on-screen size of the player, goal and hint markers in bitmap mode
+    private static final double MIN_MARKER_SIZE = 6.0;
+    private static final double ZOOM_STEP = 1.25;
+
+    // Reused bitmap and pixel buffer for the zoomed-out view
+    private WritableImage bitmap;
+    private final MazeBitmap bitmapPixels = new MazeBitmap();
+    private boolean bitmapMode;
+
+    // Last mouse position while dragging the view
+    private double dragX;
+    private double dragY;
+
+    // Decoded sprites, scaled to the current cell size
+    private final SpriteCache sprites = new SpriteCache();
+    private long lastFrameNanos;
+    private static final LatencyHistogram fullFrames = Metrics.histogram("view.frame.full");
+    private static final LatencyHistogram partialFrames = Metrics.histogram("view.frame.partial");
 
     // Dynamic wall/player image paths
     StringProperty imageFileNameWall = new SimpleStringProperty();
     StringProperty imageFileNamePlayer = new SimpleStringProperty();
 
     /**
-     * Constructor loads the "next step" hint image if available.
+     * Constructor stacks the rendering layers.
      */
     public MazeDisplayer() {
-        try {
-            nextStepImage = new Image(getClass().getResourceAsStream("/Go+Here.png"));
-        } catch (Exception e) {
-            System.out.println("Couldn't load next step image");
+        for (Canvas layer : new Canvas[]{mazeLayer, solutionLayer, spriteLayer}) {
+            layer.setManaged(false);
+            layer.setMouseTransparent(true);
         }
+        getChildren().addAll(mazeLayer, solutionLayer, spriteLayer);
+
+        setMinSize(0, 0);
+        setFocusTraversable(true);
 
-        // Redraw when resized
-        widthProperty().addListener((obs, oldVal, newVal) -> {
-            if (maze != null) redraw();
+        // Mouse wheel zooms around the pointer, dragging pans
+        setOnScroll(event -> {
+            if (event.getDeltaY() != 0)
+                zoom(event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP, event.getX(), event.getY());
         });
-        heightProperty().addListener((obs, oldVal, newVal) -> {
-            if (maze != null) redraw();
+        setOnMousePressed(event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+            requestFocus();
         });
+        setOnMouseDragged(event -> {
+            boolean moved = camera.panBy(event.getX() - dragX, event.getY() - dragY);
+            dragX = event.getX();
+            dragY = event.getY();
+            if (moved)
+                redraw();
+        });
+    }
 
-        // Let JavaFX call resize() if it wants
-        setManaged(true);
-        setFocusTraversable(true);
+    /**
+     * Zooms in one step, centered on the player.
+     */
+    public void zoomIn() {
+        zoom(ZOOM_STEP, camera.toX(playerCol + 0.5), camera.toY(playerRow + 0.5));
+    }
+
+    /**
+     * Zooms out one step, centered on the player.
+     */
+    public void zoomOut() {
+        zoom(1 / ZOOM_STEP, camera.toX(playerCol + 0.5), camera.toY(playerRow + 0.5));
+    }
+
+    /**
+     * Resets the view to show the whole maze.
+     */
+    public void resetZoom() {
+        zoom(MazeCamera.MIN_ZOOM / camera.getZoom(), 0, 0);
+    }
+
+    /**
+     * Applies a zoom factor around a pixel anchor and repaints if the view changed.
+     */
+    private void zoom(double factor, double x, double y) {
+        if (maze != null && camera.zoomAt(factor, x, y)) {
+            camera.follow(playerRow, playerCol);
+            redraw();
+        }
+    }
+
+    /**
+     * @return the camera used to map cells to pixels
+     */
+    public MazeCamera getCamera() {
+        return camera;
     }
 
 
@@ -76,254 +174,461 @@ public class MazeDisplayer extends Canvas {
     }
 
     /**
-     * Parses a string-based AState to a Position object.
-     * @param state the AState to parse
-     * @return parsed Position
+     * @return the sprite cache, exposing its lookup and rebuild timings
      */
-    private Position parsePosition(AState state) {
-        String[] parts = state.getState().split(",");
-        int row = Integer.parseInt(parts[0]);
-        int col = Integer.parseInt(parts[1]);
-        return new Position(row, col);
+    public SpriteCache getSpriteCache() {
+        return sprites;
     }
 
     /**
-     * Sets the player's current position and redraws the maze.
+     * @return how long the last repaint took, in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * Sets the player's current position.
+     * Only the old and new player cells are repainted, unless the camera
+     * has to move to keep the player in view.
      */
     public void setPlayerPosition(int row, int col) {
+        int oldRow = this.playerRow;
+        int oldCol = this.playerCol;
         this.playerRow = row;
         this.playerCol = col;
-        draw();
+        if (!isReady())
+            return;
+        if (camera.follow(row, col)) {
+            redraw();
+            return;
+        }
+
+        long start = System.nanoTime();
+        repaintSpriteCell(oldRow, oldCol);
+        repaintSpriteCell(row, col);
+        if (solution != null)
+            eraseWalkedPath();
+        lastFrameNanos = System.nanoTime() - start;
+        partialFrames.record(lastFrameNanos);
     }
 
     /**
-     * Sets the goal position and redraws the maze.
+     * Sets the goal position and repaints the affected cells.
      */
     public void setEndPoint(int row, int col) {
+        int oldRow = this.goalRow;
+        int oldCol = this.goalCol;
         this.goalRow = row;
         this.goalCol = col;
-        draw();
+        if (!isReady())
+            return;
+
+        repaintSpriteCell(oldRow, oldCol);
+        repaintSpriteCell(row, col);
     }
 
     /**
-     * Sets the maze solution path and triggers redraw.
+     * Sets the maze solution path and repaints the solution layer.
+     * The model updates the path as the player moves; each repaint draws it as it is then.
+     * @param path the solution path from the player's cell to the goal, or null for none
      */
-    public void setSolution(Solution solution) {
-        this.solution = solution;
-        draw();
+    public void setSolution(ActivePath path) {
+        this.solution = path;
+        if (isReady())
+            paintSolutionLayer();
     }
 
     /**
-     * Sets the maze object and triggers drawing it.
+     * Sets the maze grid and paints every layer. The previous maze's solution is dropped.
      * @param maze the maze to draw
      */
-    public void drawMaze(Maze maze) {
-        this.currentMaze = maze;
+    public void drawMaze(MazeGrid maze) {
+        if (maze != this.maze)
+            this.solution = null;
         this.maze = maze;
         this.rows = maze.getRows();
         this.cols = maze.getCols();
-        draw();
+        this.goalRow = maze.rowOf(maze.getGoalIndex());
+        this.goalCol = maze.colOf(maze.getGoalIndex());
+        // A lazily generated maze is only ever shown in part, so only the tiles near the player are generated
+        camera.setMaze(rows, cols, maze.isLazy() ? LAZY_VISIBLE_CELLS : Integer.MAX_VALUE);
+        camera.setViewSize(mazeLayer.getWidth(), mazeLayer.getHeight());
+        redraw();
     }
 
     /**
-     * Main draw method that renders the entire maze UI components.
+     * Sizes the layers to this component and repaints them when the size changed.
      */
-    private void draw() {
-        if (rows > 0 && cols > 0) {
-            double canvasHeight = getHeight();
-            double canvasWidth = getWidth();
-            double cellHeight = canvasHeight / rows;
-            double cellWidth = canvasWidth / cols;
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        if (mazeLayer.getWidth() == width && mazeLayer.getHeight() == height)
+            return;
 
-            GraphicsContext gc = getGraphicsContext2D();
-            gc.clearRect(0, 0, canvasWidth, canvasHeight);
+        for (Canvas layer : new Canvas[]{mazeLayer, solutionLayer, spriteLayer}) {
+            layer.setWidth(width);
+            layer.setHeight(height);
+        }
+        camera.setViewSize(width, height);
+        redraw();
+    }
 
+    /**
+     * @return true if there is a maze and a non-empty area to draw it on
+     */
+    private boolean isReady() {
+        return maze != null && rows > 0 && cols > 0 && mazeLayer.getWidth() > 0 && mazeLayer.getHeight() > 0;
+    }
+
+    /**
+     * Recomputes the cell size from the camera and rescales the sprites if it changed.
+     */
+    private void updateCellSize() {
+        cellHeight = camera.getCellHeight();
+        cellWidth = camera.getCellWidth();
+        bitmapMode = cellWidth < BITMAP_CELL_SIZE || cellHeight < BITMAP_CELL_SIZE;
+        if (!bitmapMode)
+            sprites.resize(cellWidth, cellHeight);
+    }
+
+    /**
+     * Paints the static layer: background, walls and border.
+     * Only the cells inside the camera window are drawn.
+     */
+    private void paintMazeLayer() {
+        GraphicsContext gc = mazeLayer.getGraphicsContext2D();
+        gc.clearRect(0, 0, mazeLayer.getWidth(), mazeLayer.getHeight());
+        if (bitmapMode) {
+            drawMazeBitmap(gc);
+        } else {
             drawMazeBackground(gc, cellHeight, cellWidth, rows, cols);
             drawMazeWalls(gc, cellHeight, cellWidth, rows, cols);
-            if (solution != null)
-                drawSolution(gc, cellHeight, cellWidth);
-            drawPlayer(gc, cellHeight, cellWidth);
-            drawEndPoint(gc, cellHeight, cellWidth);
         }
+
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(5.0);
+        gc.strokeRect(camera.toX(0), camera.toY(0), cols * cellWidth, rows * cellHeight);
     }
 
     /**
-     * Draws maze walls using either an image or fallback color.
+     * Draws the visible window of the maze as a bitmap with at most one pixel per cell,
+     * stretched over the window without smoothing. When cells are smaller than a pixel,
+     * each bitmap pixel samples one cell.
      */
-    private void drawMazeWalls(GraphicsContext gc, double cellHeight, double cellWidth, int rows, int cols) {
-        Image wallImage = null;
-        try {
-            wallImage = new Image(getClass().getResourceAsStream("/grass.png"));
-        } catch (Exception e) {
-            System.out.println("Couldn't load wall image");
+    private void drawMazeBitmap(GraphicsContext gc) {
+        if (!bitmapPixels.render(maze, camera, mazeLayer.getWidth(), mazeLayer.getHeight()))
+            return;
+
+        int width = bitmapPixels.getWidth();
+        int height = bitmapPixels.getHeight();
+        if (bitmap == null || (int) bitmap.getWidth() != width || (int) bitmap.getHeight() != height)
+            bitmap = new WritableImage(width, height);
+        bitmap.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(),
+                bitmapPixels.getPixels(), 0, width);
+
+        gc.setImageSmoothing(false);
+        gc.drawImage(bitmap, camera.toX(bitmapPixels.getFirstCol()), camera.toY(bitmapPixels.getFirstRow()),
+                bitmapPixels.getWindowCols() * cellWidth, bitmapPixels.getWindowRows() * cellHeight);
+        gc.setImageSmoothing(true);
+    }
+
+    /**
+     * Paints the solution overlay from the player's position onward.
+     */
+    private void paintSolutionLayer() {
+        GraphicsContext gc = solutionLayer.getGraphicsContext2D();
+        gc.clearRect(0, 0, solutionLayer.getWidth(), solutionLayer.getHeight());
+        if (solution != null) {
+            drawSolution(gc, cellHeight, cellWidth);
+            paintedPathSize = solution.size();
+            paintedPathRepairs = solution.getRepairCount();
         }
+    }
 
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                if (maze.getCell(i, j) == 1) {
-                    double x = j * cellWidth;
-                    double y = i * cellHeight;
-                    if (wallImage == null)
-                        gc.fillRect(x, y, cellWidth, cellHeight);
-                    else {
-                        gc.setFill(Color.BLACK);
-                        gc.drawImage(wallImage, x, y, cellWidth, cellHeight);
-                    }
+    /**
+     * Erases the part of the solution the player walked since the solution layer was painted.
+     * The walked cells and the player's cell are cleared, and the remaining segments near them are
+     * stroked again with the clip set to the cleared area, so the cost depends on the steps walked,
+     * not on the length of the path. After a detour was spliced in the whole layer is repainted.
+     */
+    private void eraseWalkedPath() {
+        int walked = paintedPathSize - solution.size();
+        if (walked < 0 || walked > MAX_WALKED_REPAINT || solution.getRepairCount() != paintedPathRepairs) {
+            paintSolutionLayer();
+            return;
+        }
+        if (walked == 0)
+            return;
+
+        GraphicsContext gc = solutionLayer.getGraphicsContext2D();
+        // Half the line plus a pixel of antialiasing around the cells
+        double margin = solutionLineWidth() / 2 + 1;
+        // Segments whose line can reach into a cleared cell start or end this many cells away
+        int reach = (int) Math.ceil(2 * margin / Math.min(cellWidth, cellHeight));
+        int[] starts = new int[16];
+        int count = 0;
+
+        gc.save();
+        gc.beginPath();
+        for (int i = 0; i <= walked; i++) {
+            int cell = i == 0 ? solution.cellAt(0) : solution.walkedCellAt(i);
+            int row = cell / cols;
+            int col = cell % cols;
+            double x = camera.toX(col) - margin;
+            double y = camera.toY(row) - margin;
+            gc.clearRect(x, y, cellWidth + 2 * margin, cellHeight + 2 * margin);
+            gc.rect(x, y, cellWidth + 2 * margin, cellHeight + 2 * margin);
+
+            for (int r = Math.max(0, row - reach); r <= Math.min(rows - 1, row + reach); r++) {
+                for (int c = Math.max(0, col - reach); c <= Math.min(cols - 1, col + reach); c++) {
+                    int steps = solution.stepsTo(r * cols + c);
+                    if (steps < 0)
+                        continue;
+                    if (count + 2 > starts.length)
+                        starts = Arrays.copyOf(starts, starts.length * 2);
+                    // The segments into and out of a nearby path cell, by the step they start at
+                    if (steps + 1 < solution.size())
+                        starts[count++] = steps;
+                    if (steps > 0)
+                        starts[count++] = steps - 1;
                 }
             }
         }
-
-        gc.setStroke(Color.BLACK);
-        gc.setLineWidth(5.0);
-        gc.strokeRect(0, 0, cols * cellWidth, rows * cellHeight);
+        gc.clip();
+
+        // Each segment is stroked once, or its translucent line would darken
+        Arrays.sort(starts, 0, count);
+        setSolutionStroke(gc);
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || starts[i] != starts[i - 1])
+                strokeSegment(gc, solution.cellAt(starts[i]), solution.cellAt(starts[i] + 1));
+        }
+        gc.restore();
+        paintedPathSize = solution.size();
     }
 
     /**
-     * Draws the player's current position.
+     * Paints the whole sprite layer: next step hint, player and goal.
      */
-    private void drawPlayer(GraphicsContext gc, double cellHeight, double cellWidth) {
-        double x = getPlayerCol() * cellWidth;
-        double y = getPlayerRow() * cellHeight;
+    private void paintSpriteLayer() {
+        GraphicsContext gc = spriteLayer.getGraphicsContext2D();
+        gc.clearRect(0, 0, spriteLayer.getWidth(), spriteLayer.getHeight());
+        drawNextStep(gc);
+        drawPlayer(gc);
+        drawEndPoint(gc);
+    }
 
-        Image playerImage = null;
-        try {
-            playerImage = new Image(getClass().getResourceAsStream("/player.png"));
-        } catch (Exception e) {
-            System.out.println("There is no player image file");
+    /**
+     * Clears one cell of the sprite layer and redraws the sprites around it.
+     * Sprites in the neighbouring cells are redrawn too, since clearing a cell
+     * with fractional bounds also clears their anti-aliased edges.
+     * In bitmap mode markers are larger than a cell, so the (three sprite) layer is redrawn instead.
+     * @param row row of the cell
+     * @param col column of the cell
+     */
+    private void repaintSpriteCell(int row, int col) {
+        if (bitmapMode) {
+            paintSpriteLayer();
+            return;
         }
+        GraphicsContext gc = spriteLayer.getGraphicsContext2D();
+        gc.clearRect(camera.toX(col), camera.toY(row), cellWidth, cellHeight);
+
+        if (nextStepPosition != null && isNear(nextStepPosition.getRowIndex(), nextStepPosition.getColumnIndex(), row, col))
+            drawNextStep(gc);
+        if (isNear(playerRow, playerCol, row, col))
+            drawPlayer(gc);
+        if (isNear(goalRow, goalCol, row, col))
+            drawEndPoint(gc);
+    }
 
-        if (playerImage == null) {
-            gc.setFill(Color.GREEN);
-            gc.fillRect(x, y, cellWidth, cellHeight);
-        } else {
-            gc.drawImage(playerImage, x, y, cellWidth, cellHeight);
+    /**
+     * @return true if the two cells are the same or adjacent (including diagonals)
+     */
+    private static boolean isNear(int row1, int col1, int row2, int col2) {
+        return Math.abs(row1 - row2) <= 1 && Math.abs(col1 - col2) <= 1;
+    }
+
+    /**
+     * Draws the visible maze walls using either an image or fallback color.
+     */
+    private void drawMazeWalls(GraphicsContext gc, double cellHeight, double cellWidth, int rows, int cols) {
+        Image wallImage = sprites.get(SpriteCache.Sprite.WALL);
+        gc.setFill(Color.BLACK);
+
+        for (int i = camera.getFirstVisibleRow(); i < camera.getEndVisibleRow(); i++) {
+            double y = camera.toY(i);
+            for (int j = camera.getFirstVisibleCol(); j < camera.getEndVisibleCol(); j++) {
+                if (!maze.isOpen(i, j)) {
+                    double x = camera.toX(j);
+                    if (wallImage == null)
+                        gc.fillRect(x, y, cellWidth, cellHeight);
+                    else
+                        gc.drawImage(wallImage, x, y, cellWidth, cellHeight);
+                }
+            }
         }
     }
 
+    /**
+     * Draws the player's current position.
+     */
+    private void drawPlayer(GraphicsContext gc) {
+        drawSprite(gc, SpriteCache.Sprite.PLAYER, Color.GREEN, getPlayerRow(), getPlayerCol());
+    }
+
     /**
      * Draws the goal (end point) position.
      */
-    private void drawEndPoint(GraphicsContext gc, double cellHeight, double cellWidth) {
-        double y = maze.getGoalPosition().getRowIndex() * cellHeight;
-        double x = maze.getGoalPosition().getColumnIndex() * cellWidth;
+    private void drawEndPoint(GraphicsContext gc) {
+        drawSprite(gc, SpriteCache.Sprite.GOAL, Color.BLUE, goalRow, goalCol);
+    }
+
+    /**
+     * Draws the "next step" hint image, if one is shown.
+     */
+    private void drawNextStep(GraphicsContext gc) {
+        if (nextStepPosition != null)
+            drawSprite(gc, SpriteCache.Sprite.NEXT_STEP, null, nextStepPosition.getRowIndex(), nextStepPosition.getColumnIndex());
+    }
 
-        Image endPointImage = null;
-        try {
-            endPointImage = new Image(getClass().getResourceAsStream("/goal.png"));
-        } catch (Exception e) {
-            System.out.println("There is no goal image file");
+    /**
+     * Draws a sprite into a cell if the cell is visible.
+     * In bitmap mode a colored marker of a minimum size is drawn instead of the image.
+     * @param sprite the sprite to draw
+     * @param fallback color used when the image is missing or cells are too small, or null to skip
+     */
+    private void drawSprite(GraphicsContext gc, SpriteCache.Sprite sprite, Color fallback, int row, int col) {
+        if (!camera.isVisible(row, col))
+            return;
+        double x = camera.toX(col);
+        double y = camera.toY(row);
+
+        if (bitmapMode) {
+            double width = Math.max(cellWidth, MIN_MARKER_SIZE);
+            double height = Math.max(cellHeight, MIN_MARKER_SIZE);
+            gc.setFill(fallback != null ? fallback : Color.ORANGE);
+            gc.fillRect(x + (cellWidth - width) / 2, y + (cellHeight - height) / 2, width, height);
+            return;
         }
 
-        if (endPointImage == null) {
-            gc.setFill(Color.BLUE);
+        Image image = sprites.get(sprite);
+        if (image != null) {
+            gc.drawImage(image, x, y, cellWidth, cellHeight);
+        } else if (fallback != null) {
+            gc.setFill(fallback);
             gc.fillRect(x, y, cellWidth, cellHeight);
-        } else {
-            gc.drawImage(endPointImage, x, y, cellWidth, cellHeight);
         }
     }
 
     /**
      * Draws the solution path as a yellow line from the player to the goal.
+     * Only segments touching the camera window are drawn. When the path is longer than the window
+     * has cells, the window's cells are looked up on the path instead of walking the whole path,
+     * so the cost is bounded by the window.
      */
     private void drawSolution(GraphicsContext gc, double cellHeight, double cellWidth) {
-        if (solution == null || solution.getSolutionPath().size() < 2)
+        if (solution == null || solution.size() < 2)
             return;
 
-        List<AState> path = solution.getSolutionPath();
-
-        int playerRow = getPlayerRow();
-        int playerCol = getPlayerCol();
-
-        int startIndex = -1;
-        for (int i = 0; i < path.size(); i++) {
-            Position pos = parsePosition(path.get(i));
-            if (pos.getRowIndex() == playerRow && pos.getColumnIndex() == playerCol) {
-                startIndex = i;
-                break;
+        setSolutionStroke(gc);
+        int firstRow = camera.getFirstVisibleRow();
+        int endRow = camera.getEndVisibleRow();
+        int firstCol = camera.getFirstVisibleCol();
+        int endCol = camera.getEndVisibleCol();
+        long visibleCells = (long) (endRow - firstRow) * (endCol - firstCol);
+
+        if (solution.size() <= visibleCells) {
+            for (int i = 0; i < solution.size() - 1; i++) {
+                int from = solution.cellAt(i);
+                int to = solution.cellAt(i + 1);
+                if (camera.isVisible(from / cols, from % cols) || camera.isVisible(to / cols, to % cols))
+                    strokeSegment(gc, from, to);
             }
+            return;
         }
 
-        if (startIndex == -1 || startIndex >= path.size() - 1)
-            return;
+        for (int row = firstRow; row < endRow; row++) {
+            for (int col = firstCol; col < endCol; col++) {
+                int cell = row * cols + col;
+                int steps = solution.stepsTo(cell);
+                if (steps < 0)
+                    continue;
+                if (steps + 1 < solution.size())
+                    strokeSegment(gc, cell, solution.cellAt(steps + 1));
+                // A segment coming in from outside the window is not drawn from its other end
+                if (steps > 0) {
+                    int previous = solution.cellAt(steps - 1);
+                    if (!camera.isVisible(previous / cols, previous % cols))
+                        strokeSegment(gc, previous, cell);
+                }
+            }
+        }
+    }
 
+    private void setSolutionStroke(GraphicsContext gc) {
         gc.setLineCap(StrokeLineCap.ROUND);
         gc.setLineJoin(StrokeLineJoin.ROUND);
-        gc.setLineWidth(5);
-        gc.setStroke(new Color(1.0, 1.0, 0.0, 0.6));
-
-        for (int i = startIndex; i < path.size() - 1; i++) {
-            Position from = parsePosition(path.get(i));
-            Position to = parsePosition(path.get(i + 1));
+        gc.setLineWidth(solutionLineWidth());
+        gc.setStroke(SOLUTION_COLOR);
+    }
 
-            double x1 = from.getColumnIndex() * cellWidth + cellWidth / 2;
-            double y1 = from.getRowIndex() * cellHeight + cellHeight / 2;
-            double x2 = to.getColumnIndex() * cellWidth + cellWidth / 2;
-            double y2 = to.getRowIndex() * cellHeight + cellHeight / 2;
+    /**
+     * @return the solution line width, at most one cell wide so a line stays near its cells
+     */
+    private double solutionLineWidth() {
+        return Math.max(1.0, Math.min(SOLUTION_LINE_WIDTH, Math.min(cellWidth, cellHeight)));
+    }
 
-            gc.strokeLine(x1, y1, x2, y2);
-        }
+    private void strokeSegment(GraphicsContext gc, int from, int to) {
+        gc.strokeLine(camera.toX(from % cols + 0.5), camera.toY(from / cols + 0.5),
+                camera.toX(to % cols + 0.5), camera.toY(to / cols + 0.5));
     }
 
     /**
-     * Clears the displayed solution and redraws the maze without it.
+     * Clears the displayed solution. Only the solution layer is touched.
      */
     public void clearSolution() {
         this.solution = null;
-        drawMaze(currentMaze);
-        setPlayerPosition(playerRow, playerCol);
-        setEndPoint(goalRow, goalCol);
+        if (isReady())
+            paintSolutionLayer();
     }
 
     /**
-     * Draws the background for each maze cell, using an image or fallback color.
+     * Draws the background for each visible maze cell, using an image or fallback color.
      */
     private void drawMazeBackground(GraphicsContext gc, double cellHeight, double cellWidth, int rows, int cols) {
-        Image backgroundImage = null;
-        try {
-            backgroundImage = new Image(getClass().getResourceAsStream("/background.png"));
-        } catch (Exception e) {
-            System.out.println("Couldn't load background image");
+        Image backgroundImage = sprites.get(SpriteCache.Sprite.BACKGROUND);
+        if (backgroundImage == null) {
+            // fallback: one fill covers every cell
+            gc.setFill(Color.WHITE);
+            gc.fillRect(camera.toX(0), camera.toY(0), cols * cellWidth, rows * cellHeight);
+            return;
         }
 
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                double x = j * cellWidth;
-                double y = i * cellHeight;
-                if (backgroundImage != null)
-                    gc.drawImage(backgroundImage, x, y, cellWidth, cellHeight);
-                else {
-                    gc.setFill(Color.WHITE); // fallback
-                    gc.fillRect(x, y, cellWidth, cellHeight);
-                }
+        for (int i = camera.getFirstVisibleRow(); i < camera.getEndVisibleRow(); i++) {
+            for (int j = camera.getFirstVisibleCol(); j < camera.getEndVisibleCol(); j++) {
+                gc.drawImage(backgroundImage, camera.toX(j), camera.toY(i), cellWidth, cellHeight);
             }
         }
     }
 
     /**
-     * Redraws the entire canvas based on the current maze and state.
+     * Repaints every layer based on the current maze and state.
      */
     public void redraw() {
-        if (maze == null)
+        if (!isReady())
             return;
 
-        GraphicsContext gc = getGraphicsContext2D();
-        double cellHeight = getHeight() / maze.getRows();
-        double cellWidth = getWidth() / maze.getCols();
-
-        gc.clearRect(0, 0, getWidth(), getHeight());
-
-        drawMazeBackground(gc, cellHeight, cellWidth, maze.getRows(), maze.getCols());
-        drawMazeWalls(gc, cellHeight, cellWidth, maze.getRows(), maze.getCols());
-
-        if (nextStepPosition != null && nextStepImage != null) {
-            double x = nextStepPosition.getColumnIndex() * cellWidth;
-            double y = nextStepPosition.getRowIndex() * cellHeight;
-            gc.drawImage(nextStepImage, x, y, cellWidth, cellHeight);
-        }
-
-        drawSolution(gc, cellHeight, cellWidth);
-        drawPlayer(gc, cellHeight, cellWidth);
-        drawEndPoint(gc, cellHeight, cellWidth);
+        long start = System.nanoTime();
+        updateCellSize();
+        paintMazeLayer();
+        paintSolutionLayer();
+        paintSpriteLayer();
+        lastFrameNanos = System.nanoTime() - start;
+        fullFrames.record(lastFrameNanos);
     }
 
     /**
@@ -332,25 +637,22 @@ public class MazeDisplayer extends Canvas {
      * @param col column index of the hint
      */
     public void showNextStepImage(int row, int col) {
+        Position old = nextStepPosition;
         this.nextStepPosition = new Position(row, col);
-        redraw();
+        if (!isReady())
+            return;
+        if (old != null)
+            repaintSpriteCell(old.getRowIndex(), old.getColumnIndex());
+        repaintSpriteCell(row, col);
     }
 
     /**
      * Removes the "next step" image hint from the display.
      */
     public void removeNextStepImage() {
+        Position old = nextStepPosition;
         this.nextStepPosition = null;
-        redraw();
-    }
-
-    @Override
-    public void resize(double width, double height) {
-        super.resize(width, height);
-        if (maze != null) redraw();
+        if (old != null && isReady())
+            repaintSpriteCell(old.getRowIndex(), old.getColumnIndex());
     }
-
-
-
-
 }
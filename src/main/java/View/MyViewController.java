@@ -1,10 +1,12 @@
 package View;
 
+import Model.MazeGrid;
+import Model.ModelEvent;
 import Model.MovementDirection;
+import Model.SessionSnapshot;
+import Model.SolverType;
 import ViewModel.MyViewModel;
-import algorithms.mazeGenerators.Maze;
 import algorithms.mazeGenerators.Position;
-import algorithms.search.Solution;
 import javafx.animation.KeyFrame;
 import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
@@ -27,6 +29,10 @@ import java.net.URL;
 import java.util.Observable;
 import java.util.Observer;
 import java.util.ResourceBundle;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
 import javafx.scene.media.Media;
 
 /**
@@ -56,8 +62,26 @@ public class MyViewController implements Initializable, Observer {
     @FXML private StackPane mazeContainer;
     @FXML private Label stepCounter;
     @FXML private Label timeCounter;
+    @FXML private ProgressIndicator busyIndicator;
+    @FXML private ComboBox<SolverType> solverChoice;
+    @FXML private Label solveStats;
+    @FXML private Label metricsOverlay;
+    @FXML private CheckMenuItem metricsMenuItem;
+    @FXML private Button solveButton;
+    @FXML private Button autoWalkButton;
+    @FXML private Button btnShowNextStep;
+    @FXML private Label autoWalkSpeedLabel;
+    @FXML private Slider autoWalkSpeed;
+
+    // Above this many cells a new maze is generated lazily in tiles
+    private static final long TILED_MAZE_CELLS = 4_000_000;
 
     private Timeline timer;
+    private Timeline metricsRefresh;
+    private SolutionPlayer autoWalk;
+    private ReplayPlayer replay;
+    private final FrameEventCoalescer modelEvents = new FrameEventCoalescer(this::handleModelEvent);
+    private int pendingTasks = 0;
 
     StringProperty updatePlayerRow = new SimpleStringProperty();
     StringProperty updatePlayerCol = new SimpleStringProperty();
@@ -69,6 +93,11 @@ public class MyViewController implements Initializable, Observer {
     public void setViewModel(MyViewModel viewModel) {
         this.viewModel = viewModel;
         this.viewModel.addObserver(this);
+        solverChoice.setValue(viewModel.getSolverType());
+        autoWalk = new SolutionPlayer(viewModel, () -> autoWalkButton.setText("▶ Auto-walk"));
+        autoWalk.setSpeed(Math.pow(10, autoWalkSpeed.getValue()));
+        replay = new ReplayPlayer(viewModel, () -> { });
+        replay.setSpeed(autoWalk.getSpeed());
     }
 
     /**
@@ -77,8 +106,6 @@ public class MyViewController implements Initializable, Observer {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        mazeDisplayer.widthProperty().bind(mazeContainer.widthProperty());
-        mazeDisplayer.heightProperty().bind(mazeContainer.heightProperty());
         playerRow.textProperty().bind(updatePlayerRow);
         playerCol.textProperty().bind(updatePlayerCol);
 
@@ -92,14 +119,30 @@ public class MyViewController implements Initializable, Observer {
             if (event.getCode().isArrowKey()) event.consume();
         });
 
+        solverChoice.getItems().setAll(SolverType.values());
+        solverChoice.valueProperty().addListener((obs, oldType, newType) -> {
+            if (viewModel != null && newType != null)
+                viewModel.setSolverType(newType);
+        });
+
+        autoWalkSpeed.valueProperty().addListener((obs, oldValue, newValue) -> {
+            double speed = Math.pow(10, newValue.doubleValue());
+            autoWalkSpeedLabel.setText(String.format("Speed: %.0f steps/s", speed));
+            if (autoWalk != null)
+                autoWalk.setSpeed(speed);
+            if (replay != null)
+                replay.setSpeed(speed);
+        });
+
         timer = new Timeline(new KeyFrame(Duration.seconds(1), e ->
                 timeCounter.setText("⏱ Time: " + viewModel.getElapsedTimeInSeconds() + "s")));
         timer.setCycleCount(Timeline.INDEFINITE);
 
-        mazeDisplayer.widthProperty().bind(mazeContainer.widthProperty());
-        mazeDisplayer.heightProperty().bind(mazeContainer.heightProperty());
-        mazeDisplayer.widthProperty().addListener((obs, oldVal, newVal) -> mazeDisplayer.redraw());
-        mazeDisplayer.heightProperty().addListener((obs, oldVal, newVal) -> mazeDisplayer.redraw());
+        metricsRefresh = new Timeline(new KeyFrame(Duration.millis(500), e ->
+                metricsOverlay.setText(viewModel.getMetricsReport())));
+        metricsRefresh.setCycleCount(Timeline.INDEFINITE);
+
+        // The maze displayer fills mazeContainer and repaints its own layers when resized
 
         // Load sounds
         try {
@@ -112,35 +155,62 @@ public class MyViewController implements Initializable, Observer {
     }
 
     /**
-     * Handles keyboard movement (WASD + diagonals).
+     * Handles keyboard movement (WASD + diagonals) and zoom (+, -, 0).
+     * With Shift held, a movement key dashes along the corridor to the next junction in one move.
+     * Keys pressed with the shortcut modifier are left to the menu accelerators, such as Ctrl+Z for undo.
      * @param event the key event
      */
     public void handleKeyPress(KeyEvent event) {
+        if (event.isShortcutDown())
+            return;
+        MovementDirection direction = switch (event.getCode()) {
+            case W -> MovementDirection.UP;
+            case S -> MovementDirection.DOWN;
+            case A -> MovementDirection.LEFT;
+            case D -> MovementDirection.RIGHT;
+            case Q -> MovementDirection.UP_LEFT;
+            case E -> MovementDirection.UP_RIGHT;
+            case Z -> MovementDirection.DOWN_LEFT;
+            case C -> MovementDirection.DOWN_RIGHT;
+            default -> null;
+        };
+        if (direction != null) {
+            if (event.isShiftDown())
+                viewModel.dashPlayer(direction);
+            else
+                viewModel.movePlayer(direction);
+            mazeDisplayer.requestFocus();
+            return;
+        }
         switch (event.getCode()) {
-            case W -> viewModel.movePlayer(MovementDirection.UP);
-            case S -> viewModel.movePlayer(MovementDirection.DOWN);
-            case A -> viewModel.movePlayer(MovementDirection.LEFT);
-            case D -> viewModel.movePlayer(MovementDirection.RIGHT);
-            case Q -> viewModel.movePlayer(MovementDirection.UP_LEFT);
-            case E -> viewModel.movePlayer(MovementDirection.UP_RIGHT);
-            case Z -> viewModel.movePlayer(MovementDirection.DOWN_LEFT);
-            case C -> viewModel.movePlayer(MovementDirection.DOWN_RIGHT);
+            case PLUS, EQUALS, ADD -> mazeDisplayer.zoomIn();
+            case MINUS, SUBTRACT -> mazeDisplayer.zoomOut();
+            case DIGIT0 -> mazeDisplayer.resetZoom();
             default -> { return; }
         }
         mazeDisplayer.requestFocus();
     }
 
     /**
-     * Observer update method. Reacts to changes from the ViewModel.
+     * Observer update method. Queues changes from the ViewModel so the view reacts at most once per frame.
      */
     @Override
     public void update(Observable o, Object arg) {
-        String change = (String) arg;
-        switch (change) {
-            case "mazeGenerated" -> mazeGenerated();
-            case "playerMoved" -> playerMoved();
-            case "mazeSolved" -> mazeSolved();
-            default -> System.out.println("Unhandled update: " + change);
+        if (arg instanceof ModelEvent event)
+            modelEvents.post(event);
+        else
+            System.out.println("Unhandled update: " + arg);
+    }
+
+    /**
+     * Reacts to a model change, after events within the same frame have been merged.
+     */
+    private void handleModelEvent(ModelEvent event) {
+        switch (event.getType()) {
+            case MAZE_GENERATED -> mazeGenerated();
+            case MAZE_LOADED -> mazeLoaded();
+            case MAZE_SOLVED -> mazeSolved();
+            case PLAYER_MOVED -> playerMoved(event);
         }
     }
 
@@ -148,17 +218,45 @@ public class MyViewController implements Initializable, Observer {
      * Called when a new maze is generated.
      */
     private void mazeGenerated() {
-        mazeDisplayer.drawMaze(viewModel.getMaze());
+        stopAutoWalk();
+        mazeDisplayer.drawMaze(viewModel.getMazeGrid());
+        updateSolveControls();
         timer.playFromStart();
         stepCounter.setText("🚶 Steps: 0");
         timeCounter.setText("⏱ Time: 0s");
     }
 
     /**
-     * Updates the maze view and UI after a player move.
+     * Called when a maze is loaded from a file or a session is resumed.
+     * The counters show the model's state, which a resumed session carries over.
      */
-    private void playerMoved() {
+    private void mazeLoaded() {
+        stopAutoWalk();
+        mazeDisplayer.drawMaze(viewModel.getMazeGrid());
+        updateSolveControls();
         setPlayerPosition(viewModel.getPlayerRow(), viewModel.getPlayerCol());
+        mazeDisplayer.setEndPoint(viewModel.getEndPointRow(), viewModel.getEndPointCol());
+        stepCounter.setText("🚶 Steps: " + viewModel.getStepCount());
+        timeCounter.setText("⏱ Time: " + viewModel.getElapsedTimeInSeconds() + "s");
+        timer.playFromStart();
+    }
+
+    /**
+     * Disables solving, auto-walk and hints for a maze that cannot be solved, such as a tiled one.
+     */
+    private void updateSolveControls() {
+        boolean solvable = viewModel.isSolvable();
+        solveButton.setDisable(!solvable);
+        autoWalkButton.setDisable(!solvable);
+        btnShowNextStep.setDisable(!solvable);
+    }
+
+    /**
+     * Updates the maze view and UI after a player move.
+     * @param event the move, merged with any other moves made in the same frame
+     */
+    private void playerMoved(ModelEvent event) {
+        setPlayerPosition(event.getToRow(), event.getToCol());
         clickSound.stop();
         clickSound.play();
         nextStepVisible = false;
@@ -176,7 +274,8 @@ public class MyViewController implements Initializable, Observer {
      * Called when the maze is solved and updates the solution view.
      */
     private void mazeSolved() {
-        mazeDisplayer.setSolution(viewModel.getSolution());
+        mazeDisplayer.setSolution(viewModel.getActivePath());
+        solveStats.setText(viewModel.getLastSolveSummary());
     }
 
     /**
@@ -204,67 +303,175 @@ public class MyViewController implements Initializable, Observer {
 
     /**
      * Generates and starts a new maze from user input.
+     * Generation runs in the background; the maze is drawn when the model reports it.
      */
     @FXML
     public void onStartClicked() {
         try {
             int rows = Integer.parseInt(mazeRows.getText());
             int cols = Integer.parseInt(mazeColumns.getText());
-
-            viewModel.generateMaze(rows, cols);
-            Maze maze = viewModel.getMaze();
-            mazeDisplayer.drawMaze(maze);
-            mazeDisplayer.setPlayerPosition(maze.getStartPosition().getRowIndex(), maze.getStartPosition().getColumnIndex());
-            mazeDisplayer.setEndPoint(maze.getGoalPosition().getRowIndex(), maze.getGoalPosition().getColumnIndex());
-
-            gameAudio.setCycleCount(MediaPlayer.INDEFINITE);
-            gameAudio.play();
-            winAudio.stop();
-            mazeRows.getParent().requestFocus();
-            Platform.runLater(() -> mazeDisplayer.requestFocus());
-
+            startMaze(rows, cols, null);
         } catch (NumberFormatException e) {
             System.out.println("Invalid input: must be integers.");
         }
     }
 
+    /**
+     * Generates and starts a new maze.
+     * @param seed seed to generate the maze from, or null for a new random maze
+     */
+    private void startMaze(int rows, int cols, Long seed) {
+        // Large mazes are generated lazily, a tile at a time around the player
+        CompletableFuture<?> generation;
+        if ((long) rows * cols > TILED_MAZE_CELLS)
+            generation = viewModel.generateTiledMazeAsync(rows, cols, seed != null ? seed : ThreadLocalRandom.current().nextLong());
+        else if (seed != null)
+            generation = viewModel.generateMazeAsync(rows, cols, seed);
+        else
+            generation = viewModel.generateMazeAsync(rows, cols);
+        trackBusy(generation).whenComplete((maze, error) -> Platform.runLater(() -> {
+            if (maze == null) {
+                reportFailure("Generation Failed", error);
+                return;
+            }
+            mazeDisplayer.setPlayerPosition(viewModel.getPlayerRow(), viewModel.getPlayerCol());
+            mazeDisplayer.setEndPoint(viewModel.getEndPointRow(), viewModel.getEndPointCol());
+
+            if (gameAudio != null) {
+                gameAudio.setCycleCount(MediaPlayer.INDEFINITE);
+                gameAudio.play();
+            }
+            if (winAudio != null)
+                winAudio.stop();
+            mazeDisplayer.requestFocus();
+        }));
+        mazeRows.getParent().requestFocus();
+    }
+
     /**
      * Triggers maze solution and displays the full path.
+     * Solving runs in the background; the path is drawn when the model reports it.
      */
     @FXML
     public void solveMaze() {
-        viewModel.solveMaze();
-        mazeDisplayer.setSolution(viewModel.getSolution());
-        nextStepVisible = false;
-        highlightedPosition = null;
-        Platform.runLater(() -> mazeDisplayer.requestFocus());
+        if (!viewModel.isSolvable()) return;
+        trackBusy(viewModel.solveMazeAsync()).whenComplete((sol, error) -> Platform.runLater(() -> {
+            if (sol == null) {
+                reportFailure("Solve Failed", error);
+                return;
+            }
+            nextStepVisible = false;
+            highlightedPosition = null;
+            mazeDisplayer.requestFocus();
+        }));
+    }
+
+    /**
+     * Starts or pauses walking the player along the solution. Without a solution, the maze is solved first.
+     */
+    @FXML
+    public void toggleAutoWalk() {
+        if (!viewModel.isSolvable()) return;
+        if (autoWalk.isPlaying()) {
+            stopAutoWalk();
+        } else if (viewModel.getActivePath() != null) {
+            startAutoWalk();
+        } else {
+            trackBusy(viewModel.solveMazeAsync()).whenComplete((sol, error) -> Platform.runLater(() -> {
+                if (sol == null) {
+                    reportFailure("Solve Failed", error);
+                    return;
+                }
+                startAutoWalk();
+            }));
+        }
+        mazeDisplayer.requestFocus();
+    }
+
+    private void startAutoWalk() {
+        autoWalk.play();
+        autoWalkButton.setText("⏸ Pause");
+    }
+
+    private void stopAutoWalk() {
+        autoWalk.pause();
+        autoWalkButton.setText("▶ Auto-walk");
+        replay.pause();
+    }
+
+    /**
+     * Takes back the last move.
+     */
+    @FXML
+    private void onUndoClicked() {
+        stopAutoWalk();
+        viewModel.undoMove();
+        mazeDisplayer.requestFocus();
+    }
+
+    /**
+     * Makes again the last move taken back.
+     */
+    @FXML
+    private void onRedoClicked() {
+        stopAutoWalk();
+        viewModel.redoMove();
+        mazeDisplayer.requestFocus();
     }
 
     /**
-     * Shows only the next suggested move in the solution.
+     * Rewinds the run to its start and plays its moves back at the auto-walk speed.
+     */
+    @FXML
+    private void onReplayClicked() {
+        if (viewModel.getMoveJournal() == null) return;
+        stopAutoWalk();
+        viewModel.seekMove(0);
+        replay.play();
+        mazeDisplayer.requestFocus();
+    }
+
+    /**
+     * Shows only the next suggested move toward the goal.
+     * The hint comes from the model's precomputed distance field, so no search is run.
      */
     @FXML
     public void showNextStep() {
-        viewModel.solveMaze();
-        Solution sol = viewModel.getSolution();
-        if (sol == null || sol.getSolutionPath().isEmpty()) return;
-
-        int playerRow = viewModel.getPlayerRow();
-        int playerCol = viewModel.getPlayerCol();
-
-        for (int i = 0; i < sol.getSolutionPath().size() - 1; i++) {
-            Position pos = parsePosition(sol.getSolutionPath().get(i).getState());
-            if (pos.getRowIndex() == playerRow && pos.getColumnIndex() == playerCol) {
-                Position next = parsePosition(sol.getSolutionPath().get(i + 1).getState());
-                mazeDisplayer.showNextStepImage(next.getRowIndex(), next.getColumnIndex());
-                nextStepVisible = true;
-                highlightedPosition = next;
-                break;
-            }
+        if (viewModel.getMazeGrid() == null) return;
+        Position next = viewModel.getNextStepHint();
+        if (next != null) {
+            mazeDisplayer.showNextStepImage(next.getRowIndex(), next.getColumnIndex());
+            nextStepVisible = true;
+            highlightedPosition = next;
         }
+        mazeDisplayer.requestFocus();
+    }
 
-        mazeDisplayer.getParent().requestFocus();
-        Platform.runLater(() -> mazeDisplayer.requestFocus());
+    /**
+     * Shows the progress indicator until the given background task completes.
+     * @param task the pending task
+     * @return the same task, for chaining
+     */
+    private <T> CompletableFuture<T> trackBusy(CompletableFuture<T> task) {
+        pendingTasks++;
+        busyIndicator.setVisible(true);
+        task.whenComplete((result, error) -> Platform.runLater(() -> {
+            pendingTasks--;
+            busyIndicator.setVisible(pendingTasks > 0);
+        }));
+        return task;
+    }
+
+    /**
+     * Reports a failed background task, ignoring tasks that were cancelled on purpose.
+     * @param title the alert title
+     * @param error the failure, possibly wrapped
+     */
+    private void reportFailure(String title, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause == null || cause instanceof CancellationException)
+            return;
+        showAlert(title, String.valueOf(cause.getMessage()));
     }
 
     /**
@@ -272,7 +479,7 @@ public class MyViewController implements Initializable, Observer {
      */
     @FXML
     public void removeSolution() {
-        if (viewModel.getMaze() == null) return;
+        if (viewModel.getMazeGrid() == null) return;
         mazeDisplayer.clearSolution();
         nextStepVisible = false;
         highlightedPosition = null;
@@ -293,26 +500,19 @@ public class MyViewController implements Initializable, Observer {
         pause.play();
     }
 
-    /**
-     * Parses a string position format like "3,4" into a Position.
-     */
-    private Position parsePosition(String state) {
-        String[] parts = state.replaceAll("[{}]", "").split(",");
-        int row = Integer.parseInt(parts[0]);
-        int col = Integer.parseInt(parts[1]);
-        return new Position(row, col);
-    }
-
     /**
      * Saves the current maze to a file using FileChooser.
      */
     public void handleSaveMaze(javafx.event.ActionEvent actionEvent) {
-        if (viewModel.getMaze() == null) {
+        if (viewModel.getMazeGrid() == null) {
             showAlert("Save Failed", "Maze is not initialized.");
             return;
         }
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save Maze");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Maze file", "*.maze"),
+                new FileChooser.ExtensionFilter("Compressed maze file", "*.mzc"));
         File file = fileChooser.showSaveDialog(null);
         if (file != null) {
             viewModel.saveMaze(file);
@@ -320,7 +520,7 @@ public class MyViewController implements Initializable, Observer {
     }
 
     /**
-     * Loads a maze from a selected file and redraws it.
+     * Loads a maze from a selected file. The view redraws when the model reports the load.
      */
     public void handleLoadMaze(javafx.event.ActionEvent actionEvent) {
         FileChooser fileChooser = new FileChooser();
@@ -328,33 +528,70 @@ public class MyViewController implements Initializable, Observer {
         File file = fileChooser.showOpenDialog(null);
         if (file != null) {
             viewModel.loadMaze(file);
-            mazeDisplayer.drawMaze(viewModel.getMaze());
-            mazeDisplayer.setPlayerPosition(viewModel.getPlayerRow(), viewModel.getPlayerCol());
-            mazeDisplayer.setEndPoint(viewModel.getEndPointRow(), viewModel.getEndPointCol());
             Platform.runLater(() -> mazeDisplayer.requestFocus());
         }
     }
 
     /**
-     * Opens a dialog to enter new maze dimensions and generates it.
+     * Saves the whole game to a session file chosen with a FileChooser.
+     */
+    @FXML
+    private void handleSaveSession() {
+        if (viewModel.getMazeGrid() == null) {
+            showAlert("Save Failed", "Maze is not initialized.");
+            return;
+        }
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Session");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Maze session", "*" + SessionSnapshot.EXTENSION));
+        File file = fileChooser.showSaveDialog(null);
+        if (file != null) {
+            viewModel.saveSession(file);
+        }
+    }
+
+    /**
+     * Resumes a game from a session file. The view redraws when the model reports the load.
+     */
+    @FXML
+    private void handleLoadSession() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Resume Session");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Maze session", "*" + SessionSnapshot.EXTENSION));
+        File file = fileChooser.showOpenDialog(null);
+        if (file != null) {
+            viewModel.loadSession(file);
+            Platform.runLater(() -> mazeDisplayer.requestFocus());
+        }
+    }
+
+    /**
+     * Opens a dialog to enter new maze dimensions, and optionally a seed, and generates it.
+     * A maze of the last size is usually ready already, so the new game starts at once.
      */
     @FXML
     private void onNewClicked() {
-        TextInputDialog dialog = new TextInputDialog("10x10");
+        // Offer the last size, for which a maze is kept ready
+        String lastSize = mazeRows.getText().isEmpty() ? "10x10" : mazeRows.getText() + "x" + mazeColumns.getText();
+        TextInputDialog dialog = new TextInputDialog(lastSize);
         dialog.setTitle("New Maze");
         dialog.setHeaderText("Create a New Maze");
-        dialog.setContentText("Enter number of rows and columns (e.g., 10x10):");
+        dialog.setContentText("Enter number of rows and columns (e.g., 10x10),\noptionally with a seed to replay (e.g., 10x10 #42):");
 
         dialog.showAndWait().ifPresent(input -> {
             try {
-                String[] parts = input.toLowerCase().split("x");
+                String[] seedParts = input.split("#");
+                String[] parts = seedParts[0].toLowerCase().split("x");
                 int rows = Integer.parseInt(parts[0].trim());
                 int cols = Integer.parseInt(parts[1].trim());
+                Long seed = seedParts.length > 1 ? Long.valueOf(seedParts[1].trim()) : null;
                 mazeRows.setText(String.valueOf(rows));
                 mazeColumns.setText(String.valueOf(cols));
-                onStartClicked();
+                startMaze(rows, cols, seed);
             } catch (Exception e) {
-                showAlert("Invalid Input", "Please enter a valid format: 10x10");
+                showAlert("Invalid Input", "Please enter a valid format: 10x10 or 10x10 #42");
             }
         });
     }
@@ -364,19 +601,42 @@ public class MyViewController implements Initializable, Observer {
      */
     @FXML
     private void onPropertiesClicked() {
+        MazeGrid grid = viewModel.getMazeGrid();
+        if (grid == null) return;
         String solverName = viewModel.getLastUsedSolverName();
+        Long seed = viewModel.getMazeSeed();
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Maze Properties");
         alert.setHeaderText("Current Maze Properties");
         alert.setContentText(
                 "🧠 Algorithm used: " + solverName + "\n" +
-                        "📐 Size: " + viewModel.getMaze().getRows() + " x " + viewModel.getMaze().getCols() + "\n" +
-                        "🚩 Start: " + viewModel.getMaze().getStartPosition() + "\n" +
-                        "🏁 Goal: " + viewModel.getMaze().getGoalPosition()
+                        "⏱ Last solve: " + viewModel.getLastSolveSummary() + "\n" +
+                        "💾 Solution cache: " + viewModel.getSolutionCacheStats() + "\n" +
+                        "📏 Moves to goal: " + viewModel.getDistanceToGoal() + "\n" +
+                        "📐 Size: " + grid.getRows() + " x " + grid.getCols() + "\n" +
+                        "🎲 Seed: " + (seed != null ? "#" + seed : "none") + "\n" +
+                        "🚩 Start: " + new Position(grid.rowOf(grid.getStartIndex()), grid.colOf(grid.getStartIndex())) + "\n" +
+                        "🏁 Goal: " + new Position(grid.rowOf(grid.getGoalIndex()), grid.colOf(grid.getGoalIndex()))
         );
         alert.showAndWait();
     }
 
+    /**
+     * Shows or hides the metrics overlay, refreshed twice a second while shown.
+     */
+    @FXML
+    private void onMetricsToggled() {
+        boolean show = metricsMenuItem.isSelected();
+        metricsOverlay.setVisible(show);
+        if (show) {
+            metricsOverlay.setText(viewModel.getMetricsReport());
+            metricsRefresh.play();
+        } else {
+            metricsRefresh.stop();
+        }
+        mazeDisplayer.requestFocus();
+    }
+
     /**
      * Displays help dialog with movement keys and feature usage.
      */
@@ -385,7 +645,7 @@ public class MyViewController implements Initializable, Observer {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Help");
         alert.setHeaderText("Game Help");
-        alert.setContentText("Use W/A/S/D or Q/E/Z/C to move.\nUse buttons to show or clear solutions.");
+        alert.setContentText("Use W/A/S/D or Q/E/Z/C to move, with Shift to dash to the next junction.\nUse +/- or the mouse wheel to zoom, drag to pan, 0 to show the whole maze.\nUse buttons to show or clear solutions, or Auto-walk to follow the solution.\nCtrl+Z and Ctrl+Y undo and redo moves, Ctrl+R replays the run.\nPress F3 to show timings.");
         alert.showAndWait();
     }
 
@@ -0,0 +1,26 @@
+package View;
+
+import ViewModel.MyViewModel;
+
+/**
+ * Plays back the moves of the current run, a few per animation frame, by redoing a frame's moves
+ * at a time from the model's move journal. Rewind with {@link MyViewModel#seekMove(int)} first to replay from the start.
+ */
+public class ReplayPlayer extends StepPlayer {
+
+    private final MyViewModel viewModel;
+
+    /**
+     * @param viewModel the view model whose moves are replayed
+     * @param onFinished called on the FX thread when the last recorded move has been replayed
+     */
+    public ReplayPlayer(MyViewModel viewModel, Runnable onFinished) {
+        super(onFinished);
+        this.viewModel = viewModel;
+    }
+
+    @Override
+    protected int advance(int steps) {
+        return viewModel.redoMoves(steps);
+    }
+}
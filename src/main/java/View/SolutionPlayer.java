@@ -0,0 +1,27 @@
+package View;
+
+import ViewModel.MyViewModel;
+
+/**
+ * Walks the player along the solution, a few steps per animation frame.
+ * Each step moves the player to the next cell of the model's active path, so the path stays
+ * correct even if the player is moved by hand during playback.
+ */
+public class SolutionPlayer extends StepPlayer {
+
+    private final MyViewModel viewModel;
+
+    /**
+     * @param viewModel the view model whose player is moved
+     * @param onFinished called on the FX thread when playback stops at the goal or because the solution is gone
+     */
+    public SolutionPlayer(MyViewModel viewModel, Runnable onFinished) {
+        super(onFinished);
+        this.viewModel = viewModel;
+    }
+
+    @Override
+    protected int advance(int steps) {
+        return viewModel.walkSolution(steps);
+    }
+}
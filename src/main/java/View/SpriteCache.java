@@ -0,0 +1,148 @@
+package View;
+
+import javafx.scene.image.Image;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Cache of the sprites used by the maze canvas.
+ * Each resource is read from the classpath once, and a copy scaled to the current cell size
+ * is kept until the cell size changes. Missing resources are remembered so they are not looked up again.
+ */
+public class SpriteCache {
+
+    /**
+     * The sprites the maze canvas knows how to draw, with their classpath locations.
+     */
+    public enum Sprite {
+        WALL("/grass.png"),
+        PLAYER("/player.png"),
+        GOAL("/goal.png"),
+        BACKGROUND("/background.png"),
+        NEXT_STEP("/Go+Here.png");
+
+        private final String resource;
+
+        Sprite(String resource) {
+            this.resource = resource;
+        }
+    }
+
+    // Raw resource bytes, read once. A missing resource maps to null.
+    private final Map<Sprite, byte[]> sources = new EnumMap<>(Sprite.class);
+    // Sprites decoded at the current cell size.
+    private final Map<Sprite, Image> scaled = new EnumMap<>(Sprite.class);
+
+    private int cellWidth = -1;
+    private int cellHeight = -1;
+
+    // Timing counters
+    private long hits;
+    private long hitNanos;
+    private long rebuilds;
+    private long lastRebuildNanos;
+
+    /**
+     * Reads every sprite resource once.
+     */
+    public SpriteCache() {
+        for (Sprite sprite : Sprite.values()) {
+            sources.put(sprite, readResource(sprite.resource));
+        }
+    }
+
+    /**
+     * Makes sure the cached sprites match the given cell size.
+     * Sprites are only decoded again when the size in whole pixels actually changes.
+     * @param cellWidth width of a maze cell in pixels
+     * @param cellHeight height of a maze cell in pixels
+     */
+    public void resize(double cellWidth, double cellHeight) {
+        int width = Math.max(1, (int) Math.ceil(cellWidth));
+        int height = Math.max(1, (int) Math.ceil(cellHeight));
+        if (width == this.cellWidth && height == this.cellHeight)
+            return;
+
+        long start = System.nanoTime();
+        scaled.clear();
+        for (Map.Entry<Sprite, byte[]> entry : sources.entrySet()) {
+            if (entry.getValue() == null)
+                continue;
+            Image image = new Image(new ByteArrayInputStream(entry.getValue()), width, height, false, true);
+            if (!image.isError())
+                scaled.put(entry.getKey(), image);
+        }
+        this.cellWidth = width;
+        this.cellHeight = height;
+        rebuilds++;
+        lastRebuildNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Returns the sprite scaled to the current cell size.
+     * @param sprite the sprite to look up
+     * @return the cached image, or null if the resource is missing
+     */
+    public Image get(Sprite sprite) {
+        long start = System.nanoTime();
+        Image image = scaled.get(sprite);
+        hitNanos += System.nanoTime() - start;
+        hits++;
+        return image;
+    }
+
+    /**
+     * @return number of lookups served from the cache
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return average time of a cache lookup in nanoseconds
+     */
+    public double getAverageHitNanos() {
+        return hits == 0 ? 0 : (double) hitNanos / hits;
+    }
+
+    /**
+     * @return number of times the sprites were rebuilt for a new cell size
+     */
+    public long getRebuildCount() {
+        return rebuilds;
+    }
+
+    /**
+     * @return duration of the last rebuild in nanoseconds
+     */
+    public long getLastRebuildNanos() {
+        return lastRebuildNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SpriteCache[hits=%d, avgHit=%.1fns, rebuilds=%d, lastRebuild=%.2fms]",
+                hits, getAverageHitNanos(), rebuilds, lastRebuildNanos / 1_000_000.0);
+    }
+
+    /**
+     * Reads a classpath resource fully into memory.
+     * @param resource the resource path
+     * @return the resource bytes, or null if it is missing or unreadable
+     */
+    private byte[] readResource(String resource) {
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            if (in == null) {
+                System.out.println("Couldn't load image " + resource);
+                return null;
+            }
+            return in.readAllBytes();
+        } catch (Exception e) {
+            System.out.println("Couldn't load image " + resource);
+            return null;
+        }
+    }
+}
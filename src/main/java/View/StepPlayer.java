@@ -0,0 +1,92 @@
+package View;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Moves the player a few steps per animation frame, for playback features such as auto-walk and replay.
+ * Steps are paced by the time between frames, so the speed does not depend on the frame rate,
+ * and at most {@link #MAX_STEPS_PER_FRAME} steps are taken per frame to keep frames short.
+ * A frame's steps are taken as one batch, so the model notifies the view once per frame, not once per step.
+ */
+public abstract class StepPlayer extends AnimationTimer {
+
+    public static final double MIN_SPEED = 1;
+    public static final double MAX_SPEED = 2000;
+    private static final int MAX_STEPS_PER_FRAME = 200;
+
+    private final Runnable onFinished;
+    private double stepsPerSecond = 10;
+    private boolean playing;
+    private long lastFrame;
+    // Fraction of a step carried over to the next frame
+    private double owedSteps;
+
+    /**
+     * @param onFinished called on the FX thread when playback stops because there is no step left
+     */
+    protected StepPlayer(Runnable onFinished) {
+        this.onFinished = onFinished;
+    }
+
+    /**
+     * Takes the steps due in a frame as one change.
+     * @param steps number of steps to take, at least one
+     * @return number of steps taken; fewer than asked ends playback
+     */
+    protected abstract int advance(int steps);
+
+    /**
+     * Starts or resumes playback from the player's current cell.
+     */
+    public void play() {
+        if (playing)
+            return;
+        playing = true;
+        lastFrame = 0;
+        owedSteps = 0;
+        start();
+    }
+
+    /**
+     * Pauses playback; {@link #play()} resumes from wherever the player is then.
+     */
+    public void pause() {
+        playing = false;
+        stop();
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * @param stepsPerSecond playback speed, clamped to {@link #MIN_SPEED} .. {@link #MAX_SPEED}
+     */
+    public void setSpeed(double stepsPerSecond) {
+        this.stepsPerSecond = Math.max(MIN_SPEED, Math.min(MAX_SPEED, stepsPerSecond));
+    }
+
+    public double getSpeed() {
+        return stepsPerSecond;
+    }
+
+    @Override
+    public void handle(long now) {
+        if (lastFrame == 0) {
+            lastFrame = now;
+            return;
+        }
+        owedSteps = Math.min(MAX_STEPS_PER_FRAME, owedSteps + (now - lastFrame) / 1e9 * stepsPerSecond);
+        lastFrame = now;
+
+        int steps = (int) owedSteps;
+        if (steps == 0)
+            return;
+        int taken = advance(steps);
+        owedSteps -= taken;
+        if (taken < steps) {
+            pause();
+            onFinished.run();
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package ViewModel;
 
+import Model.ActivePath;
 import Model.IModel;
+import Model.MazeGrid;
+import Model.Metrics;
+import Model.MoveJournal;
 import Model.MovementDirection;
+import Model.RaceResult;
+import Model.SolveStats;
+import Model.SolverType;
 import algorithms.mazeGenerators.Maze;
+import algorithms.mazeGenerators.Position;
 import algorithms.search.Solution;
 import javafx.scene.control.Alert;
 import javafx.scene.input.KeyEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * ViewModel class for the MVVM architecture.
@@ -19,6 +30,8 @@ import java.util.Observer;
  */
 public class MyViewModel extends Observable implements Observer {
 
+    private static final Logger logger = LogManager.getLogger(MyViewModel.class);
+
     private final IModel model;
 
     /**
@@ -32,8 +45,9 @@ public class MyViewModel extends Observable implements Observer {
 
     /**
      * Called when the Model changes. Forwards the change to View observers.
+     * Moves are announced by the model itself, once the player has actually moved.
      * @param o   the observable object
-     * @param arg argument indicating what changed
+     * @param arg the {@link Model.ModelEvent} describing what changed
      */
     @Override
     public void update(Observable o, Object arg) {
@@ -59,8 +73,6 @@ public class MyViewModel extends Observable implements Observer {
             }
         }
 
-        setChanged();
-        notifyObservers("playerMoved");
         model.updatePlayerLocation(direction);
     }
 
@@ -70,8 +82,82 @@ public class MyViewModel extends Observable implements Observer {
      */
     public void movePlayer(MovementDirection direction) {
         model.updatePlayerLocation(direction);
-        setChanged();
-        notifyObservers("playerMoved");
+    }
+
+    /**
+     * Moves the player to a cell, if it is open.
+     * @param row target row
+     * @param col target column
+     */
+    public void movePlayer(int row, int col) {
+        model.movePlayer(row, col);
+    }
+
+    /**
+     * Makes a run of moves, such as scripted input, with a single update of the view.
+     * @param directions the moves to make, in order
+     * @return number of moves made
+     */
+    public int applyMoves(MovementDirection[] directions) {
+        return model.applyMoves(directions);
+    }
+
+    /**
+     * Moves the player along a corridor up to the next junction, with a single update of the view.
+     * @param direction the direction of the first move
+     * @return number of moves made
+     */
+    public int dashPlayer(MovementDirection direction) {
+        return model.dashPlayer(direction);
+    }
+
+    /**
+     * Moves the player along the solution, with a single update of the view.
+     * @param steps largest number of moves to make
+     * @return number of moves made
+     */
+    public int walkSolution(int steps) {
+        return model.walkSolution(steps);
+    }
+
+    /**
+     * Takes back the player's last move.
+     * @return false if there is no move to take back
+     */
+    public boolean undoMove() {
+        return model.undoMove();
+    }
+
+    /**
+     * Makes again the last move taken back.
+     * @return false if there is no move to make again
+     */
+    public boolean redoMove() {
+        return model.redoMove();
+    }
+
+    /**
+     * Makes again several moves taken back, with a single update of the view.
+     * @param count largest number of moves to make again
+     * @return number of moves made again
+     */
+    public int redoMoves(int count) {
+        return model.redoMoves(count);
+    }
+
+    /**
+     * Puts the player where they were after a given number of moves of the current run.
+     * @param move number of moves from the start of the run
+     */
+    public void seekMove(int move) {
+        model.seekMove(move);
+    }
+
+    /**
+     * @return the moves of the current run, or null if there is no maze
+     */
+    public MoveJournal getMoveJournal() {
+        return model.getMoveJournal();
     }
 
     /**
@@ -95,6 +181,20 @@ public class MyViewModel extends Observable implements Observer {
         return model.getSolution();
     }
 
+    /**
+     * @return the solution path as cell indices (row * cols + col), or null if the maze is not solved
+     */
+    public int[] getSolutionPath() {
+        return model.getSolutionPath();
+    }
+
+    /**
+     * @return the solution path from the player's cell, updated as the player moves, or null if the maze is not solved
+     */
+    public ActivePath getActivePath() {
+        return model.getActivePath();
+    }
+
     /**
      * Triggers maze generation via the model.
      * @param rows number of rows
@@ -104,6 +204,38 @@ public class MyViewModel extends Observable implements Observer {
         model.generateMaze(rows, cols);
     }
 
+    /**
+     * Triggers maze generation on a background thread via the model.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return future completed once the maze is installed
+     */
+    public CompletableFuture<MazeGrid> generateMazeAsync(int rows, int cols) {
+        return model.generateMazeAsync(rows, cols);
+    }
+
+    /**
+     * Triggers generation of the maze a seed gives, on a background thread via the model.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param seed seed the maze is derived from
+     * @return future completed once the maze is installed
+     */
+    public CompletableFuture<MazeGrid> generateMazeAsync(int rows, int cols, long seed) {
+        return model.generateMazeAsync(rows, cols, seed);
+    }
+
+    /**
+     * Starts a maze generated lazily in tiles, for sizes too large to generate up front.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param seed seed the maze is derived from
+     * @return future completed with the maze grid once it is installed
+     */
+    public CompletableFuture<MazeGrid> generateTiledMazeAsync(int rows, int cols, long seed) {
+        return model.generateTiledMazeAsync(rows, cols, seed);
+    }
+
     /**
      * Solves the current maze using the model’s algorithm.
      */
@@ -112,12 +244,82 @@ public class MyViewModel extends Observable implements Observer {
     }
 
     /**
-     * @return the current maze object
+     * @return true if there is a maze and it can be solved; tiled mazes cannot
+     */
+    public boolean isSolvable() {
+        return model.isSolvable();
+    }
+
+    /**
+     * Solves the current maze on a background thread via the model.
+     * @return future completed with the path of cell indices once the solution is installed
+     */
+    public CompletableFuture<int[]> solveMazeAsync() {
+        return model.solveMazeAsync();
+    }
+
+    /**
+     * @return the next cell toward the goal from the player's position, or null if there is none
+     */
+    public Position getNextStepHint() {
+        return model.getNextStepHint();
+    }
+
+    /**
+     * @return number of moves left to the goal, or -1 if it cannot be reached
+     */
+    public int getDistanceToGoal() {
+        return model.getDistanceToGoal();
+    }
+
+    /**
+     * Chooses the algorithm used by later solves.
+     * @param type the solver type
+     */
+    public void setSolverType(SolverType type) {
+        model.setSolverType(type);
+    }
+
+    /**
+     * @return the algorithm used by solves
+     */
+    public SolverType getSolverType() {
+        return model.getSolverType();
+    }
+
+    /**
+     * @return a one-line summary of the last solve (algorithm, nodes expanded, wall time), followed by
+     * a line on the winner when the solve was a race, or "None"
+     */
+    public String getLastSolveSummary() {
+        SolveStats stats = model.getLastSolveStats();
+        if (stats == null)
+            return "None";
+        RaceResult race = model.getLastRaceResult();
+        return race == null ? stats.toString() : stats + "\n" + race;
+    }
+
+    /**
+     * @return a copy of the current maze, or null for a tiled maze; prefer {@link #getMazeGrid()}
      */
     public Maze getMaze() {
         return model.getMaze();
     }
 
+    /**
+     * @return the current maze as a bit-packed grid
+     */
+    public MazeGrid getMazeGrid() {
+        return model.getMazeGrid();
+    }
+
+    /**
+     * @return the seed the current maze was generated from, or null if it has none
+     */
+    public Long getMazeSeed() {
+        return model.getMazeSeed();
+    }
+
     /**
      * @return the goal row index of the maze
      */
@@ -141,9 +343,37 @@ public class MyViewModel extends Observable implements Observer {
             model.saveMazeToFile(file);
         } catch (IllegalStateException e) {
             showAlert("Save Failed", "Maze is not initialized. Please generate or load a maze first.");
+        } catch (UnsupportedOperationException e) {
+            showAlert("Save Failed", e.getMessage());
+        } catch (IOException e) {
+            logger.error("Could not save maze to {}", file, e);
+            showAlert("Save Failed", "An error occurred while saving the maze: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the whole game to a session file. Alerts the user if an error occurs.
+     * @param file destination file
+     */
+    public void saveSession(File file) {
+        try {
+            model.saveSession(file);
+        } catch (IllegalStateException e) {
+            showAlert("Save Failed", "Maze is not initialized. Please generate or load a maze first.");
         } catch (IOException e) {
-            showAlert("Save Failed", "An error occurred while saving the maze.");
-            e.printStackTrace();
+            showAlert("Save Failed", "An error occurred while saving the session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resumes a game from a session file. Alerts the user if the file cannot be read.
+     * @param file session file
+     */
+    public void loadSession(File file) {
+        try {
+            model.loadSession(file);
+        } catch (IOException e) {
+            showAlert("Resume Failed", e.getMessage());
         }
     }
 
@@ -161,14 +391,14 @@ public class MyViewModel extends Observable implements Observer {
     }
 
     /**
-     * Loads a maze from a file. Errors are printed to the console.
+     * Loads a maze from a file. Errors are logged.
      * @param file file to load the maze from
      */
     public void loadMaze(File file) {
         try {
             model.loadMazeFromFile(file);
         } catch (IOException e) {
-            e.printStackTrace(); // Optionally, show alert like in saveMaze()
+            logger.error("Could not load maze from {}", file, e);
         }
     }
 
@@ -199,4 +429,18 @@ public class MyViewModel extends Observable implements Observer {
     public String getLastUsedSolverName() {
         return model.getLastUsedSolver();
     }
+
+    /**
+     * @return a short summary of solution cache hits and misses
+     */
+    public String getSolutionCacheStats() {
+        return model.getSolutionCacheHits() + " hits / " + model.getSolutionCacheMisses() + " misses";
+    }
+
+    /**
+     * @return the current latency histograms and counters, one per line
+     */
+    public String getMetricsReport() {
+        return Metrics.report();
+    }
 }
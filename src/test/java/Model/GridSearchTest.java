@@ -0,0 +1,146 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The optimal grid solvers on small fixed mazes: they must agree on the length of a shortest path,
+ * return a valid path, and stop with a {@link CancellationException} when cancelled.
+ */
+class GridSearchTest {
+
+    private static final List<SolverType> OPTIMAL = List.of(SolverType.BREADTH_FIRST, SolverType.A_STAR_OCTILE,
+            SolverType.BIDIRECTIONAL_BFS, SolverType.RACE_SHORTEST_PATH);
+
+    // S is the start, G the goal, # a wall
+    private static final String[] CORRIDOR = {
+            "S....",
+            "####.",
+            "G....",
+    };
+
+    // 55 cells, so the last byte of a bit-packed grid is only partly used
+    static final String[] ROOMS = {
+            "S..#.......",
+            ".#.#.#####.",
+            ".#...#...#.",
+            ".#####.#.#.",
+            ".......#..G",
+    };
+
+    private static final String[] DIAGONALS = {
+            "S#....",
+            "#.#.#.",
+            "..#.#.",
+            ".#.#..",
+            "...#.G",
+    };
+
+    private static final String[] WALLED_OFF = {
+            "S.#..",
+            "..#..",
+            "###..",
+            "....G",
+    };
+
+    @Test
+    void optimalSolversAgreeOnShortestLength() {
+        assertShortest(CORRIDOR, 8);
+        assertShortest(ROOMS, 13);
+        assertShortest(DIAGONALS, 6);
+    }
+
+    @Test
+    void unreachableGoalGivesEmptyPath() {
+        MazeGrid grid = parse(WALLED_OFF);
+        for (SolverType type : OPTIMAL)
+            assertEquals(0, type.create().solve(grid, grid.getStartIndex(), grid.getGoalIndex()).length, type.name());
+    }
+
+    @Test
+    void startAtGoalGivesSingleCell() {
+        MazeGrid grid = parse(ROOMS);
+        for (SolverType type : OPTIMAL)
+            assertArrayEquals(new int[]{grid.getGoalIndex()},
+                    type.create().solve(grid, grid.getGoalIndex(), grid.getGoalIndex()), type.name());
+    }
+
+    @Test
+    void cancelledSearchThrows() {
+        // Large enough that every solver expands more nodes than it does between cancellation checks
+        BitMazeGrid grid = new BitMazeGrid(64, 64);
+        for (int i = 0; i < grid.size(); i++)
+            grid.setOpen(i, true);
+        grid.setStart(0);
+        grid.setGoal(grid.size() - 1);
+        grid.setOpen(grid.size() - 1, false); // the goal is walled in, so no search can finish early
+        for (SolverType type : SolverType.values()) {
+            IGridSearchingAlgorithm solver = type.create();
+            solver.cancel();
+            assertThrows(CancellationException.class, () -> solver.solve(grid, grid.getStartIndex(), grid.getGoalIndex()),
+                    type.name());
+        }
+    }
+
+    @Test
+    void largeMazesRaceFewerEntrants() {
+        for (SolverType type : List.of(SolverType.RACE_FIRST_PATH, SolverType.RACE_SHORTEST_PATH)) {
+            GridRaceSearch race = (GridRaceSearch) type.create();
+            assertEquals(SolverType.raceEntrants(type.isOptimal()), race.entrantsFor(GridRaceSearch.MAX_CELLS));
+            List<SolverType> large = race.entrantsFor(GridRaceSearch.MAX_CELLS + 1);
+            assertEquals(GridRaceSearch.MAX_LARGE_ENTRANTS, large.size());
+            if (type.isOptimal())
+                assertTrue(large.stream().allMatch(SolverType::isOptimal));
+        }
+    }
+
+    private static void assertShortest(String[] rows, int expectedMoves) {
+        MazeGrid grid = parse(rows);
+        for (SolverType type : OPTIMAL) {
+            int[] path = type.create().solve(grid, grid.getStartIndex(), grid.getGoalIndex());
+            assertValidPath(grid, path, type.name());
+            assertEquals(expectedMoves, path.length - 1, type.name());
+        }
+    }
+
+    /**
+     * Checks that a path goes from the start to the goal through open cells, one of the eight moves at a time.
+     */
+    private static void assertValidPath(MazeGrid grid, int[] path, String solver) {
+        assertTrue(path.length > 0, solver + " found no path");
+        assertEquals(grid.getStartIndex(), path[0], solver);
+        assertEquals(grid.getGoalIndex(), path[path.length - 1], solver);
+        for (int i = 0; i < path.length; i++) {
+            assertTrue(grid.isOpen(path[i]), solver + " walks through a wall");
+            if (i == 0)
+                continue;
+            int rowStep = Math.abs(grid.rowOf(path[i]) - grid.rowOf(path[i - 1]));
+            int colStep = Math.abs(grid.colOf(path[i]) - grid.colOf(path[i - 1]));
+            assertTrue(rowStep <= 1 && colStep <= 1 && rowStep + colStep > 0, solver + " jumps between cells");
+        }
+    }
+
+    /**
+     * Builds a grid from rows of text, one character per cell.
+     */
+    static BitMazeGrid parse(String[] rows) {
+        int cols = rows[0].length();
+        BitMazeGrid grid = new BitMazeGrid(rows.length, cols);
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < cols; col++) {
+                char cell = rows[row].charAt(col);
+                int index = row * cols + col;
+                grid.setOpen(index, cell != '#');
+                if (cell == 'S')
+                    grid.setStart(index);
+                else if (cell == 'G')
+                    grid.setGoal(index);
+            }
+        }
+        return grid;
+    }
+}
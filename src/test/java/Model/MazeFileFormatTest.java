@@ -0,0 +1,140 @@
+package Model;
+
+import algorithms.mazeGenerators.Maze;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Maze files in both encodings and in the legacy format, and the headers that must be rejected.
+ */
+class MazeFileFormatTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void bitEncodingLoadsAsGridOverTheFile() throws IOException {
+        for (BitMazeGrid grid : new BitMazeGrid[]{GridSearchTest.parse(GridSearchTest.ROOMS), pattern(37, 53)}) {
+            File file = dir.resolve("bits.maze").toFile();
+            MazeFileFormat.write(grid, file, MazeFileFormat.Encoding.BITS);
+
+            MazeGrid loaded = MazeFileFormat.readGrid(file);
+            assertInstanceOf(OffHeapMazeGrid.class, loaded);
+            assertSameMaze(grid, loaded);
+            assertSameMaze(grid, BitMazeGrid.fromMaze(MazeFileFormat.read(file)));
+        }
+    }
+
+    @Test
+    void loadedMazeCanBeSavedOverItsOwnFile() throws IOException {
+        BitMazeGrid grid = pattern(37, 53);
+        File file = dir.resolve("same.maze").toFile();
+        MazeFileFormat.write(grid, file, MazeFileFormat.Encoding.BITS);
+        MazeGrid loaded = MazeFileFormat.readGrid(file);
+
+        MazeFileFormat.write(loaded, file, MazeFileFormat.Encoding.BITS);
+        assertSameMaze(grid, loaded);
+        assertSameMaze(grid, MazeFileFormat.readGrid(file));
+
+        // The loaded grid keeps reading the file it was mapped from, even once another maze replaces it
+        MazeFileFormat.write(GridSearchTest.parse(GridSearchTest.ROOMS), file, MazeFileFormat.Encoding.BITS);
+        assertSameMaze(grid, loaded);
+        assertSameMaze(GridSearchTest.parse(GridSearchTest.ROOMS), MazeFileFormat.readGrid(file));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count(), "temporary files left behind");
+        }
+    }
+
+    @Test
+    void compressedEncodingRoundTrips() throws IOException {
+        for (BitMazeGrid grid : new BitMazeGrid[]{GridSearchTest.parse(GridSearchTest.ROOMS), pattern(37, 53)}) {
+            File file = dir.resolve("partb" + MazeFileFormat.COMPRESSED_EXTENSION).toFile();
+            assertEquals(MazeFileFormat.Encoding.PARTB_COMPRESSED, MazeFileFormat.encodingFor(file));
+            MazeFileFormat.write(grid, file, MazeFileFormat.encodingFor(file));
+
+            assertSameMaze(grid, MazeFileFormat.readGrid(file));
+            assertSameMaze(grid, BitMazeGrid.fromMaze(MazeFileFormat.read(file)));
+        }
+    }
+
+    @Test
+    void legacyFileLoads() throws IOException {
+        BitMazeGrid grid = pattern(20, 30);
+        byte[] legacy = MazeFileFormat.toMaze(grid).toByteArray();
+        File file = dir.resolve("legacy.maze").toFile();
+        Files.write(file.toPath(), legacy);
+
+        Maze maze = MazeFileFormat.read(file);
+        assertArrayEquals(legacy, maze.toByteArray());
+        MazeGrid loaded = MazeFileFormat.readGrid(file);
+        assertSameMaze(grid, loaded);
+        // A maze hashes the same whichever way it was stored
+        assertEquals(SolutionCache.hashMaze(legacy), SolutionCache.hashGrid(loaded));
+    }
+
+    @Test
+    void corruptFilesAreRejected() throws IOException {
+        byte[] bits = MazeFileFormat.toBytes(pattern(20, 30));
+
+        byte[] goalOutside = bits.clone();
+        ByteBuffer.wrap(goalOutside).putInt(24, 20);
+        assertRejected(goalOutside);
+
+        byte[] tooLarge = bits.clone();
+        ByteBuffer.wrap(tooLarge).putInt(8, 1 << 20).putInt(12, 1 << 20);
+        assertRejected(tooLarge);
+
+        assertRejected(Arrays.copyOf(bits, bits.length - 1));
+
+        // A compressed file whose header claims far more cells than its payload can hold
+        File file = dir.resolve("partb.mzc").toFile();
+        MazeFileFormat.write(pattern(20, 30), file, MazeFileFormat.Encoding.PARTB_COMPRESSED);
+        byte[] compressed = Files.readAllBytes(file.toPath());
+        ByteBuffer.wrap(compressed).putInt(8, 40_000).putInt(12, 40_000);
+        assertRejected(compressed);
+
+        byte[] legacy = MazeFileFormat.toMaze(pattern(20, 30)).toByteArray();
+        assertRejected(Arrays.copyOf(legacy, legacy.length - 1));
+        ByteBuffer.wrap(legacy).putShort(8, (short) 20);
+        assertRejected(legacy);
+    }
+
+    private void assertRejected(byte[] bytes) throws IOException {
+        File file = dir.resolve("corrupt.maze").toFile();
+        Files.write(file.toPath(), bytes);
+        assertThrows(IOException.class, () -> MazeFileFormat.read(file));
+        assertThrows(IOException.class, () -> MazeFileFormat.readGrid(file));
+    }
+
+    private static void assertSameMaze(MazeGrid expected, MazeGrid actual) {
+        assertEquals(expected.getRows(), actual.getRows(), "rows");
+        assertEquals(expected.getCols(), actual.getCols(), "columns");
+        assertEquals(expected.getStartIndex(), actual.getStartIndex(), "start");
+        assertEquals(expected.getGoalIndex(), actual.getGoalIndex(), "goal");
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals(expected.isOpen(i), actual.isOpen(i), "cell " + i);
+    }
+
+    /**
+     * Builds a grid with walls in an irregular pattern, the start and goal in opposite corners.
+     */
+    private static BitMazeGrid pattern(int rows, int cols) {
+        BitMazeGrid grid = new BitMazeGrid(rows, cols);
+        for (int i = 0; i < grid.size(); i++)
+            grid.setOpen(i, i % 7 != 3 && i % 11 != 5);
+        grid.setStart(0);
+        grid.setGoal(grid.size() - 1);
+        grid.setOpen(0, true);
+        grid.setOpen(grid.size() - 1, true);
+        return grid;
+    }
+}
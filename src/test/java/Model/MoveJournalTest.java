@@ -0,0 +1,158 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The move journal's two-way encoding, its undo, redo and seek cursor, and its file log.
+ */
+class MoveJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void undoAndRedoWalkTheRecordedMoves() {
+        MoveJournal journal = new MoveJournal(10, 10, 7L, 2, 3);
+        journal.record(1, 0);
+        journal.record(1, 1);
+        journal.record(0, -1);
+        assertCell(journal, 4, 3);
+        assertEquals(3, journal.getMoveCount());
+
+        assertTrue(journal.undo());
+        assertCell(journal, 4, 4);
+        assertTrue(journal.undo());
+        assertTrue(journal.undo());
+        assertCell(journal, 2, 3);
+        assertFalse(journal.undo());
+        assertFalse(journal.canUndo());
+
+        assertTrue(journal.redo());
+        assertTrue(journal.redo());
+        assertCell(journal, 4, 4);
+        assertEquals(2, journal.getMoveCount());
+        assertEquals(3, journal.getTotalMoveCount());
+    }
+
+    @Test
+    void longMovesAreStoredAsJumpsAndReadBothWays() {
+        MoveJournal journal = new MoveJournal(5000, 5000, 7L, 0, 0);
+        journal.record(300, 0);
+        journal.record(1, 1);
+        journal.record(-128, 2000);
+        journal.record(127, -127);
+        assertCell(journal, 300, 1874);
+
+        assertTrue(journal.undo());
+        assertCell(journal, 173, 2001);
+        assertTrue(journal.undo());
+        assertCell(journal, 301, 1);
+        assertTrue(journal.undo());
+        assertTrue(journal.undo());
+        assertCell(journal, 0, 0);
+
+        journal.seek(Integer.MAX_VALUE);
+        assertCell(journal, 300, 1874);
+        assertEquals(4, journal.getMoveCount());
+        assertEquals(List.of("1:300,0", "2:301,1", "3:173,2001", "4:300,1874"), replay(journal));
+    }
+
+    @Test
+    void newMoveAfterUndoDropsTheRedoTail() {
+        MoveJournal journal = new MoveJournal(10, 10, 7L, 0, 0);
+        journal.record(0, 1);
+        journal.record(0, 1);
+        journal.record(500, 0);
+        journal.undo();
+        journal.undo();
+        journal.record(1, 0);
+
+        assertEquals(2, journal.getMoveCount());
+        assertEquals(2, journal.getTotalMoveCount());
+        assertFalse(journal.canRedo());
+        assertFalse(journal.redo());
+        assertCell(journal, 1, 1);
+        assertEquals(List.of("1:0,1", "2:1,1"), replay(journal));
+    }
+
+    @Test
+    void seekIsClampedToTheRecordedMoves() {
+        MoveJournal journal = new MoveJournal(10, 10, 7L, 5, 5);
+        journal.record(-1, 0);
+        journal.record(-1, 0);
+        journal.seek(-3);
+        assertCell(journal, 5, 5);
+        journal.seek(1);
+        assertCell(journal, 4, 5);
+        journal.seek(99);
+        assertCell(journal, 3, 5);
+    }
+
+    @Test
+    void logFileReadsBackEveryMove() throws IOException {
+        MoveJournal journal = new MoveJournal(4000, 3000, 0x1234_5678_9abcL, 10, 200);
+        journal.record(1, 1);
+        journal.record(200, -150);
+        Path file = dir.resolve("run" + MoveJournal.EXTENSION);
+        journal.startLog(file);
+        journal.record(0, 1);
+        journal.undo();
+        journal.record(-1, 0);
+        journal.seek(0);
+        journal.seek(2);
+        journal.record(1000, 1000);
+        journal.closeLog();
+
+        MoveJournal read = MoveJournal.read(file);
+        assertEquals(4000, read.getRows());
+        assertEquals(3000, read.getCols());
+        assertEquals(0x1234_5678_9abcL, read.getMazeHash());
+        assertEquals(10, read.getStartRow());
+        assertEquals(200, read.getStartCol());
+        // The file keeps undos and seeks as moves of their own
+        assertEquals(8, read.getTotalMoveCount());
+        assertCell(read, journal.getRow(), journal.getCol());
+        assertCell(read, 1211, 1051);
+
+        read.seek(2);
+        assertCell(read, 211, 51);
+    }
+
+    @Test
+    void readRejectsOtherAndTruncatedFiles() throws IOException {
+        Path other = dir.resolve("other" + MoveJournal.EXTENSION);
+        Files.write(other, new byte[MoveJournal.HEADER_BYTES]);
+        assertThrows(IOException.class, () -> MoveJournal.read(other));
+
+        MoveJournal journal = new MoveJournal(1000, 1000, 7L, 0, 0);
+        journal.record(500, 500);
+        Path file = dir.resolve("jump" + MoveJournal.EXTENSION);
+        journal.startLog(file);
+        journal.closeLog();
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = dir.resolve("truncated" + MoveJournal.EXTENSION);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> MoveJournal.read(truncated));
+    }
+
+    private static void assertCell(MoveJournal journal, int row, int col) {
+        assertEquals(row, journal.getRow(), "row");
+        assertEquals(col, journal.getCol(), "column");
+    }
+
+    private static List<String> replay(MoveJournal journal) {
+        List<String> moves = new ArrayList<>();
+        journal.replay((move, row, col) -> moves.add(move + ":" + row + "," + col));
+        return moves;
+    }
+}
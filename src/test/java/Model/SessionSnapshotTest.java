@@ -0,0 +1,107 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Session files: what is written is read back, a tiled maze is rebuilt from its seed, and sessions
+ * whose player or solution path does not fit the maze are rejected.
+ */
+class SessionSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sessionRoundTrips() throws IOException {
+        BitMazeGrid grid = GridSearchTest.parse(GridSearchTest.ROOMS);
+        DistanceField distances = DistanceField.compute(grid);
+        int[] path = SolverType.BREADTH_FIRST.create().solve(grid, 2, grid.getGoalIndex());
+        long hash = SolutionCache.hashGrid(grid);
+        File file = dir.resolve("game" + SessionSnapshot.EXTENSION).toFile();
+        new SessionSnapshot(grid, hash, 99L, distances, path, 0, 2, 2, 12_345L,
+                SolverType.A_STAR_OCTILE.name(), "Best First Search").write(file);
+
+        SessionSnapshot read = SessionSnapshot.read(file);
+        assertEquals(hash, read.mazeHash);
+        assertEquals(99L, read.seed);
+        assertEquals(0, read.playerRow);
+        assertEquals(2, read.playerCol);
+        assertEquals(2, read.stepCount);
+        assertEquals(12_345L, read.elapsedMillis);
+        assertEquals(SolverType.A_STAR_OCTILE.name(), read.solverType);
+        assertEquals("Best First Search", read.lastUsedSolver);
+        assertArrayEquals(path, read.path);
+        assertEquals(grid.getStartIndex(), read.grid.getStartIndex());
+        assertEquals(grid.getGoalIndex(), read.grid.getGoalIndex());
+        for (int i = 0; i < grid.size(); i++) {
+            assertEquals(grid.isOpen(i), read.grid.isOpen(i), "cell " + i);
+            assertEquals(distances.getDistance(i), read.distances.getDistance(i), "distance " + i);
+        }
+    }
+
+    @Test
+    void optionalPartsMayBeMissing() throws IOException {
+        BitMazeGrid grid = GridSearchTest.parse(GridSearchTest.ROOMS);
+        File file = dir.resolve("bare" + SessionSnapshot.EXTENSION).toFile();
+        new SessionSnapshot(grid, SolutionCache.hashGrid(grid), null, null, null, 0, 0, 0, 0L,
+                SolverType.BREADTH_FIRST.name(), "").write(file);
+
+        SessionSnapshot read = SessionSnapshot.read(file);
+        assertNull(read.seed);
+        assertNull(read.distances);
+        assertNull(read.path);
+        assertEquals("", read.lastUsedSolver);
+    }
+
+    @Test
+    void tiledMazeIsRebuiltFromItsSeed() throws IOException {
+        TiledMazeGrid grid = new TiledMazeGrid(300, 200, 42L);
+        int player = grid.getStartIndex();
+        File file = dir.resolve("tiled" + SessionSnapshot.EXTENSION).toFile();
+        new SessionSnapshot(grid, grid.getContentHash(), 42L, null, null, grid.rowOf(player), grid.colOf(player),
+                0, 0L, SolverType.BREADTH_FIRST.name(), "").write(file);
+        // Far smaller than the maze: only its seed and size are stored
+        assertTrue(file.length() < 200);
+
+        SessionSnapshot read = SessionSnapshot.read(file);
+        assertInstanceOf(TiledMazeGrid.class, read.grid);
+        assertEquals(grid.getContentHash(), read.mazeHash);
+        assertEquals(grid.getGoalIndex(), read.grid.getGoalIndex());
+        for (int i = 0; i < grid.size(); i += 97)
+            assertEquals(grid.isOpen(i), read.grid.isOpen(i), "cell " + i);
+    }
+
+    @Test
+    void sessionsThatDoNotFitTheMazeAreRejected() throws IOException {
+        BitMazeGrid grid = GridSearchTest.parse(GridSearchTest.ROOMS);
+        long hash = SolutionCache.hashGrid(grid);
+
+        File onWall = dir.resolve("wall" + SessionSnapshot.EXTENSION).toFile();
+        new SessionSnapshot(grid, hash, null, null, null, 0, 3, 0, 0L, "", "").write(onWall);
+        assertThrows(IOException.class, () -> SessionSnapshot.read(onWall));
+
+        File outside = dir.resolve("outside" + SessionSnapshot.EXTENSION).toFile();
+        new SessionSnapshot(grid, hash, null, null, null, 5, 0, 0, 0L, "", "").write(outside);
+        assertThrows(IOException.class, () -> SessionSnapshot.read(outside));
+
+        File badPath = dir.resolve("path" + SessionSnapshot.EXTENSION).toFile();
+        new SessionSnapshot(grid, hash, null, null, new int[]{0, grid.size()}, 0, 0, 0, 0L, "", "").write(badPath);
+        assertThrows(IOException.class, () -> SessionSnapshot.read(badPath));
+
+        File whole = dir.resolve("whole" + SessionSnapshot.EXTENSION).toFile();
+        new SessionSnapshot(grid, hash, null, DistanceField.compute(grid), null, 0, 0, 0, 0L, "", "").write(whole);
+        byte[] bytes = Files.readAllBytes(whole.toPath());
+        File truncated = dir.resolve("truncated" + SessionSnapshot.EXTENSION).toFile();
+        Files.write(truncated.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> SessionSnapshot.read(truncated));
+    }
+}